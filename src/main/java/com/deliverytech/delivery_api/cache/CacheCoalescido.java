@@ -0,0 +1,195 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+// Evita que uma chave muito lida seja carregada várias vezes ao mesmo tempo (cache stampede). Nas leituras
+// com carga (@Cacheable(sync = true)), só a primeira requisição de uma chave ausente consulta o banco; as que
+// chegam durante a carga esperam por ela e recebem o mesmo valor ou o mesmo erro. Com recarga antecipada,
+// a primeira leitura de uma entrada mais velha que o prazo a recarrega enquanto as demais seguem com o
+// valor guardado, e a chave não chega a expirar sob carga. A recarga roda na thread dessa primeira leitura,
+// que espera por ela como numa falta: o método cacheado depende do contexto da requisição (transação,
+// usuário autenticado), que não passaria para outra thread. O valor é guardado com o horário da carga.
+// Sobre um cache em camadas, cargas e recargas não avisam as outras instâncias; só put, evict e clear avisam
+public class CacheCoalescido implements Cache {
+
+    private final Cache delegado;
+    private final long recargaAntecipada;
+    private final ConcurrentMap<Object, Carga> emCarga = new ConcurrentHashMap<>();
+
+    private final LongAdder esperas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+
+    // recargaAntecipada: idade (ms) a partir da qual uma leitura recarrega a entrada; 0 desativa
+    public CacheCoalescido(Cache delegado, long recargaAntecipada) {
+        this.delegado = delegado;
+        this.recargaAntecipada = recargaAntecipada;
+    }
+
+    @Override
+    public String getName() {
+        return delegado.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegado.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Entrada entrada = entrada(key);
+        return entrada != null ? new SimpleValueWrapper(entrada.valor()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Entrada entrada = entrada(key);
+        Object valor = entrada != null ? entrada.valor() : null;
+        if (valor != null && type != null && !type.isInstance(valor)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + valor);
+        }
+        return (T) valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entrada entrada = entrada(key);
+        if (entrada != null && !vencida(entrada)) {
+            return (T) entrada.valor();
+        }
+        Carga nova = new Carga();
+        Carga existente = emCarga.putIfAbsent(key, nova);
+        if (existente != null) {
+            // Uma recarga em andamento não atrasa quem já tem um valor guardado
+            if (entrada != null) {
+                return (T) entrada.valor();
+            }
+            esperas.increment();
+            return (T) existente.aguardar(key, valueLoader);
+        }
+        // Uma carga que termine entre a leitura acima e a reserva da chave causa só uma carga a mais;
+        // ler de novo aqui contaria toda falta duas vezes nas métricas do cache
+        if (entrada != null) {
+            recargas.increment();
+        }
+        return (T) carregar(key, valueLoader, nova);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        descartar(emCarga.remove(key));
+        delegado.put(key, new Entrada(value, System.currentTimeMillis()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = delegado.putIfAbsent(key, new Entrada(value, System.currentTimeMillis()));
+        return existente != null && existente.get() instanceof Entrada entrada
+            ? new SimpleValueWrapper(entrada.valor()) : null;
+    }
+
+    // A carga em andamento da chave não é guardada: ela pode ter lido o estado anterior à mudança
+    @Override
+    public void evict(Object key) {
+        descartar(emCarga.remove(key));
+        delegado.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        emCarga.keySet().forEach(chave -> descartar(emCarga.remove(chave)));
+        delegado.clear();
+    }
+
+    // Requisições que esperaram pela carga de outra em vez de consultar o banco
+    public long esperas() {
+        return esperas.sum();
+    }
+
+    // Entradas recarregadas antes de expirar
+    public long recargas() {
+        return recargas.sum();
+    }
+
+    private Object carregar(Object key, Callable<?> valueLoader, Carga carga) {
+        try {
+            Object valor;
+            try {
+                valor = valueLoader.call();
+            } catch (Exception e) {
+                carga.futuro.completeExceptionally(e);
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            synchronized (carga) {
+                if (!carga.descartada) {
+                    guardar(key, new Entrada(valor, System.currentTimeMillis()));
+                }
+            }
+            carga.futuro.complete(valor);
+            return valor;
+        } finally {
+            emCarga.remove(key, carga);
+        }
+    }
+
+    // Falhas de acesso ao L2, quando este cache está sobre um cache em camadas
+    public long falhasCompartilhado() {
+        return delegado instanceof CacheEmCamadas emCamadas ? emCamadas.falhasCompartilhado() : 0;
+    }
+
+    private void guardar(Object key, Entrada entrada) {
+        if (delegado instanceof CacheEmCamadas emCamadas) {
+            emCamadas.guardar(key, entrada);
+        } else {
+            delegado.put(key, entrada);
+        }
+    }
+
+    private Entrada entrada(Object key) {
+        ValueWrapper guardado = delegado.get(key);
+        return guardado != null && guardado.get() instanceof Entrada entrada ? entrada : null;
+    }
+
+    private boolean vencida(Entrada entrada) {
+        return recargaAntecipada > 0 && System.currentTimeMillis() - entrada.carregadoEm() >= recargaAntecipada;
+    }
+
+    private void descartar(Carga carga) {
+        if (carga != null) {
+            synchronized (carga) {
+                carga.descartada = true;
+            }
+        }
+    }
+
+    // Valor guardado no cache de baixo; serializável para o L2 do cache em camadas
+    record Entrada(Object valor, long carregadoEm) implements Serializable {
+    }
+
+    private static class Carga {
+        private final CompletableFuture<Object> futuro = new CompletableFuture<>();
+        private boolean descartada;
+
+        Object aguardar(Object key, Callable<?> valueLoader) {
+            try {
+                return futuro.get();
+            } catch (ExecutionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+    }
+}
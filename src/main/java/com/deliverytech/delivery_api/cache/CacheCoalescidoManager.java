@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.CacheManager;
+
+// Envolve num CacheCoalescido cada cache de outro gerenciador (locais ou em camadas), já inicializado,
+// com a recarga antecipada (ms) configurada para ele. Nomes não registrados no outro gerenciador não têm cache
+public class CacheCoalescidoManager implements CacheManager {
+
+    private final Map<String, CacheCoalescido> caches = new LinkedHashMap<>();
+
+    public CacheCoalescidoManager(CacheManager delegado, Map<String, Long> recargasAntecipadas) {
+        delegado.getCacheNames().forEach(nome -> caches.put(nome,
+            new CacheCoalescido(delegado.getCache(nome), recargasAntecipadas.getOrDefault(nome, 0L))));
+    }
+
+    @Override
+    public CacheCoalescido getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+}
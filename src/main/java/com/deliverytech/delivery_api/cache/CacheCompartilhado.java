@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+// Segunda camada dos caches, compartilhada entre instâncias (ex.: Redis), e o canal
+// usado para avisar as outras instâncias de que uma chave mudou
+public interface CacheCompartilhado {
+
+    byte[] buscar(String chave);
+
+    void gravar(String chave, byte[] valor, Duration ttl);
+
+    void remover(String chave);
+
+    void removerPorPrefixo(String prefixo);
+
+    void publicar(String mensagem);
+
+    // O ouvinte recebe também as mensagens publicadas pela própria instância
+    void assinar(Consumer<String> ouvinte);
+}
@@ -0,0 +1,180 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+// Cache em duas camadas: L1 local (Caffeine, limitado) e L2 compartilhado entre instâncias.
+// Leituras consultam o L1, depois o L2, e guardam no L1 o que acharem no L2. Gravações e remoções
+// vão ao L2 e são avisadas às outras instâncias, que descartam a chave do seu L1. Um aviso pode chegar
+// antes de uma leitura concorrente do valor antigo no L2; a expiração do L1 limita esse intervalo.
+// Cargas vindas do banco não são avisadas: elas não mudam o dado, e avisar cada uma esvaziaria o L1
+// das outras instâncias a cada falta ou recarga.
+// Uma falha do L2 não chega a quem usa o cache: ela é registrada e a leitura segue como falta (vai ao banco);
+// remoções descartam o L1 antes de tentar o L2, para que esta instância não guarde o valor antigo
+public class CacheEmCamadas extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEmCamadas.class);
+
+    private final String nome;
+    private final String origem;
+    private final Cache<Object, Object> local;
+    private final CacheCompartilhado compartilhado;
+    private final Duration ttl;
+
+    private final LongAdder falhasCompartilhado = new LongAdder();
+
+    // Valores vão ao L2 com serialização Java, como no cache Redis padrão do Spring
+    private final SerializingConverter serializador = new SerializingConverter();
+    private final DeserializingConverter desserializador = new DeserializingConverter(getClass().getClassLoader());
+
+    CacheEmCamadas(String nome, String origem, Cache<Object, Object> local, CacheCompartilhado compartilhado,
+                   Duration ttl) {
+        super(true);
+        this.nome = nome;
+        this.origem = origem;
+        this.local = local;
+        this.compartilhado = compartilhado;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    // As estatísticas do L1 são as publicadas nas métricas cache.*
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String chave = chave(key);
+        Object valor = local.getIfPresent(chave);
+        if (valor == null) {
+            valor = buscarCompartilhado(chave);
+            if (valor != null) {
+                local.put(chave, valor);
+            }
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object valor = local.get(chave(key), chave -> {
+            Object compartilhadoValor = buscarCompartilhado((String) chave);
+            if (compartilhadoValor != null) {
+                return compartilhadoValor;
+            }
+            Object carregado;
+            try {
+                carregado = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            gravarCompartilhado((String) chave, carregado);
+            return carregado;
+        });
+        return (T) fromStoreValue(valor);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String chave = chave(key);
+        Object valor = toStoreValue(value);
+        local.put(chave, valor);
+        gravarCompartilhado(chave, valor);
+        avisar(chave);
+    }
+
+    // Guarda nas duas camadas um valor carregado do banco, sem avisar as outras instâncias
+    void guardar(Object key, Object value) {
+        String chave = chave(key);
+        Object valor = toStoreValue(value);
+        local.put(chave, valor);
+        gravarCompartilhado(chave, valor);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String chave = chave(key);
+        local.invalidate(chave);
+        noCompartilhado("remover", () -> compartilhado.remover(prefixo() + chave));
+        avisar(chave);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        noCompartilhado("limpar", () -> compartilhado.removerPorPrefixo(prefixo()));
+        avisar(null);
+    }
+
+    // Acessos ao L2 que falharam e foram tratados como falta ou ignorados
+    public long falhasCompartilhado() {
+        return falhasCompartilhado.sum();
+    }
+
+    // Aplica o aviso de outra instância; chave nula descarta todo o L1
+    void invalidarLocal(String chave) {
+        if (chave == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(chave);
+        }
+    }
+
+    private Object buscarCompartilhado(String chave) {
+        byte[] valor = noCompartilhado("buscar", () -> compartilhado.buscar(prefixo() + chave));
+        return valor != null ? desserializador.convert(valor) : null;
+    }
+
+    private void gravarCompartilhado(String chave, Object valor) {
+        noCompartilhado("gravar", () -> compartilhado.gravar(prefixo() + chave, serializador.convert(valor), ttl));
+    }
+
+    // Sem o aviso, as outras instâncias mantêm a chave no L1 até ela expirar
+    private void avisar(String chave) {
+        noCompartilhado("avisar", () -> compartilhado.publicar(new Invalidacao(origem, nome, chave).codificar()));
+    }
+
+    private void noCompartilhado(String operacao, Runnable acao) {
+        noCompartilhado(operacao, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    // Retorna nulo quando o L2 falha
+    private <T> T noCompartilhado(String operacao, Supplier<T> acao) {
+        try {
+            return acao.get();
+        } catch (DataAccessException e) {
+            falhasCompartilhado.increment();
+            logger.warn("Falha ao {} no L2 do cache {}: {}", operacao, nome, e.getMessage());
+            return null;
+        }
+    }
+
+    private String prefixo() {
+        return "cache:" + nome + "::";
+    }
+
+    private String chave(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,49 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.cache.support.AbstractCacheManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+// Cria um CacheEmCamadas para cada L1 configurado e aplica nos L1 desta instância
+// os avisos de mudança publicados pelas outras
+public class CacheEmCamadasManager extends AbstractCacheManager {
+
+    // Identifica esta instância nos avisos, para ignorar os que ela mesma publicou
+    private final String origem = UUID.randomUUID().toString();
+
+    private final Map<String, Cache<Object, Object>> locais;
+    private final CacheCompartilhado compartilhado;
+    private final Duration ttl;
+
+    public CacheEmCamadasManager(Map<String, Cache<Object, Object>> locais, CacheCompartilhado compartilhado,
+                                 Duration ttl) {
+        this.locais = locais;
+        this.compartilhado = compartilhado;
+        this.ttl = ttl;
+    }
+
+    @Override
+    protected Collection<? extends org.springframework.cache.Cache> loadCaches() {
+        List<CacheEmCamadas> caches = new ArrayList<>();
+        locais.forEach((nome, local) -> caches.add(new CacheEmCamadas(nome, origem, local, compartilhado, ttl)));
+        compartilhado.assinar(this::receber);
+        return caches;
+    }
+
+    private void receber(String mensagem) {
+        Invalidacao invalidacao = Invalidacao.decodificar(mensagem);
+        if (origem.equals(invalidacao.origem())) {
+            return;
+        }
+        if (getCache(invalidacao.cache()) instanceof CacheEmCamadas cache) {
+            cache.invalidarLocal(invalidacao.chave());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.cache;
+
+// Aviso de que uma chave (ou, com chave nula, todo o cache) mudou na instância de origem
+record Invalidacao(String origem, String cache, String chave) {
+
+    private static final String SEPARADOR = "|";
+
+    String codificar() {
+        return chave == null
+            ? String.join(SEPARADOR, origem, cache)
+            : String.join(SEPARADOR, origem, cache, chave);
+    }
+
+    // A chave é o último campo e pode conter o separador
+    static Invalidacao decodificar(String mensagem) {
+        String[] partes = mensagem.split("\\|", 3);
+        return new Invalidacao(partes[0], partes[1], partes.length == 3 ? partes[2] : null);
+    }
+}
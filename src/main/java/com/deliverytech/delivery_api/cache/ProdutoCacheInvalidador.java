@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.transacao.AposCommit;
+
+// Remove dos caches do catálogo só as entradas que dependem de um produto alterado: o próprio produto,
+// o cardápio do restaurante, as listas das categorias e as buscas por nome em que ele aparece ou passa a aparecer.
+// A remoção acontece após o commit, para que uma leitura concorrente não guarde de novo o estado anterior
+@Component
+public class ProdutoCacheInvalidador {
+
+    public static final String PRODUTO = "produto";
+    public static final String PRODUTOS_RESTAURANTE = "produtos-restaurante";
+    public static final String PRODUTOS_CATEGORIA = "produtos-categoria";
+    public static final String PRODUTOS_NOME = "produtos-nome";
+
+    private final CacheManager cacheManager;
+
+    public ProdutoCacheInvalidador(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // antes é nulo para produtos novos e depois é nulo para produtos removidos
+    public void produtoAlteradoAposCommit(ProdutoResponseDTO antes, ProdutoResponseDTO depois) {
+        AposCommit.executar(() -> {
+            if (antes != null) {
+                invalidar(antes);
+            }
+            if (depois != null && !depois.equals(antes)) {
+                invalidar(depois);
+            }
+        });
+    }
+
+    private void invalidar(ProdutoResponseDTO produto) {
+        remover(PRODUTO, produto.getId());
+        remover(PRODUTOS_RESTAURANTE, produto.getRestauranteId());
+        remover(PRODUTOS_CATEGORIA, produto.getCategoria());
+        removerBuscasPorNome(produto.getNome());
+    }
+
+    private void remover(String nome, Object chave) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null && chave != null) {
+            cache.evict(chave);
+        }
+    }
+
+    // As buscas guardadas são as chaves do cache local. Uma busca contém o produto quando o termo é parte
+    // do nome, como no LIKE da consulta; termos com curingas do LIKE são sempre removidos. Com o cache em camadas,
+    // buscas que só outra instância guardou não são conhecidas aqui e expiram pelo prazo de produtos-nome
+    private void removerBuscasPorNome(String nomeProduto) {
+        Cache cache = cacheManager.getCache(PRODUTOS_NOME);
+        if (cache == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> local)) {
+            cache.clear();
+            return;
+        }
+        String nome = Objects.toString(nomeProduto, "").toLowerCase(Locale.ROOT);
+        List<Object> termos = new ArrayList<>();
+        for (Object termo : local.asMap().keySet()) {
+            String texto = String.valueOf(termo).toLowerCase(Locale.ROOT);
+            if (nome.contains(texto) || texto.contains("%") || texto.contains("_")) {
+                termos.add(termo);
+            }
+        }
+        termos.forEach(cache::evict);
+    }
+}
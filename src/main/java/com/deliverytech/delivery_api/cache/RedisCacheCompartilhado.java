@@ -0,0 +1,84 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+// Segunda camada dos caches no Redis, ativada com cache.l2=redis; os avisos de mudança usam pub/sub
+@Component
+@ConditionalOnProperty(name = "cache.l2", havingValue = "redis")
+public class RedisCacheCompartilhado implements CacheCompartilhado {
+
+    private static final ChannelTopic CANAL = new ChannelTopic("cache:invalidacao");
+
+    private final RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+    private final RedisMessageListenerContainer ouvintes = new RedisMessageListenerContainer();
+
+    public RedisCacheCompartilhado(RedisConnectionFactory connectionFactory) {
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+
+        ouvintes.setConnectionFactory(connectionFactory);
+        ouvintes.afterPropertiesSet();
+        ouvintes.start();
+    }
+
+    @Override
+    public byte[] buscar(String chave) {
+        return redisTemplate.opsForValue().get(chave);
+    }
+
+    @Override
+    public void gravar(String chave, byte[] valor, Duration ttl) {
+        redisTemplate.opsForValue().set(chave, valor, ttl);
+    }
+
+    @Override
+    public void remover(String chave) {
+        redisTemplate.delete(chave);
+    }
+
+    // SCAN percorre as chaves aos poucos, sem bloquear o Redis como KEYS
+    @Override
+    public void removerPorPrefixo(String prefixo) {
+        List<String> chaves = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefixo + "*").count(1000).build())) {
+            cursor.forEachRemaining(chaves::add);
+        }
+        if (!chaves.isEmpty()) {
+            redisTemplate.delete(chaves);
+        }
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        redisTemplate.convertAndSend(CANAL.getTopic(), mensagem.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void assinar(Consumer<String> ouvinte) {
+        ouvintes.addMessageListener(
+            (mensagem, padrao) -> ouvinte.accept(new String(mensagem.getBody(), StandardCharsets.UTF_8)), CANAL);
+    }
+
+    @PreDestroy
+    public void parar() throws Exception {
+        ouvintes.destroy();
+    }
+}
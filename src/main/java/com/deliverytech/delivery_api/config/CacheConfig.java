@@ -1,15 +1,122 @@
 package com.deliverytech.delivery_api.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.deliverytech.delivery_api.cache.CacheCoalescido;
+import com.deliverytech.delivery_api.cache.CacheCoalescidoManager;
+import com.deliverytech.delivery_api.cache.CacheCompartilhado;
+import com.deliverytech.delivery_api.cache.CacheEmCamadasManager;
+import com.deliverytech.delivery_api.cache.ProdutoCacheInvalidador;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+// Caches locais com tamanho máximo e expiração definidos por cache (cache.<nome>.spec, no formato do Caffeine).
+// A remoção por tamanho segue W-TinyLFU: chaves vistas uma única vez, como buscas por nomes aleatórios,
+// não tiram do cache as entradas mais frequentes. As estatísticas ficam ativas para as métricas cache.*
+// Todos os caches carregam cada chave uma vez por vez (CacheCoalescido), com recarga antecipada opcional
+// (cache.<nome>.recarga-antecipada, em ms)
 @Configuration
 public class CacheConfig {
 
+    // Caches e suas especificações padrão, substituídas por cache.<nome>.spec
+    private static final Map<String, String> CACHES = new LinkedHashMap<>();
+
+    static {
+        CACHES.put(ProdutoCacheInvalidador.PRODUTO, "maximumSize=10000,expireAfterWrite=10m");
+        CACHES.put(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE, "maximumSize=1000,expireAfterWrite=10m");
+        CACHES.put(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA, "maximumSize=200,expireAfterWrite=10m");
+        CACHES.put(ProdutoCacheInvalidador.PRODUTOS_NOME, "maximumSize=5000,expireAfterWrite=5m");
+        CACHES.put("restaurantes", "maximumSize=1000,expireAfterWrite=10m");
+        CACHES.put("pedidos", "maximumSize=10000,expireAfterWrite=5m");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2", havingValue = "none", matchIfMissing = true)
+    public CacheManager cacheManager(Environment environment) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Sem nomes padrão, o gerenciador não cria caches sem limite para nomes não registrados aqui
+        cacheManager.setCacheNames(List.of());
+        locais(environment).forEach(cacheManager::registerCustomCache);
+        return new CacheCoalescidoManager(cacheManager, recargasAntecipadas(environment));
+    }
+
+    // Com cache.l2=redis os mesmos caches passam a ser o L1 de um cache em camadas, com o Redis como L2
+    // compartilhado entre as instâncias; cache.l2.ttl (ms) é a expiração das entradas no Redis
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2", havingValue = "redis")
+    public CacheManager cacheManagerEmCamadas(Environment environment, CacheCompartilhado cacheCompartilhado,
+                                              @Value("${cache.l2.ttl:600000}") long ttl) {
+        CacheEmCamadasManager emCamadas = new CacheEmCamadasManager(locais(environment), cacheCompartilhado,
+            Duration.ofMillis(ttl));
+        emCamadas.afterPropertiesSet();
+        return new CacheCoalescidoManager(emCamadas, recargasAntecipadas(environment));
+    }
+
+    // Publica nas métricas cache.* as estatísticas do cache local (o L1, com o cache em camadas), em
+    // delivery.cache.cargas.coalescidas e delivery.cache.recargas.antecipadas as cargas evitadas e em
+    // delivery.cache.l2.falhas os acessos ao Redis que falharam
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("produtos", "restaurantes", "pedidos");
+    public CacheMeterBinderProvider<CacheCoalescido> cacheCoalescidoMeterBinderProvider() {
+        return this::metricas;
+    }
+
+    @SuppressWarnings("unchecked")
+    private MeterBinder metricas(CacheCoalescido cache, Iterable<Tag> tags) {
+        return registro -> {
+            new CaffeineCacheMetrics<>((Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags)
+                .bindTo(registro);
+            FunctionCounter.builder("delivery.cache.cargas.coalescidas", cache, CacheCoalescido::esperas)
+                .description("Leituras que esperaram a carga da mesma chave em vez de consultar o banco")
+                .tags(tags)
+                .tag("cache", cache.getName())
+                .register(registro);
+            FunctionCounter.builder("delivery.cache.recargas.antecipadas", cache, CacheCoalescido::recargas)
+                .description("Entradas recarregadas antes de expirar")
+                .tags(tags)
+                .tag("cache", cache.getName())
+                .register(registro);
+            FunctionCounter.builder("delivery.cache.l2.falhas", cache, CacheCoalescido::falhasCompartilhado)
+                .description("Acessos ao L2 que falharam; leituras seguiram para o banco")
+                .tags(tags)
+                .tag("cache", cache.getName())
+                .register(registro);
+        };
+    }
+
+    private Map<String, Long> recargasAntecipadas(Environment environment) {
+        Map<String, Long> recargas = new LinkedHashMap<>();
+        CACHES.keySet().forEach(nome ->
+            recargas.put(nome, environment.getProperty("cache." + nome + ".recarga-antecipada", Long.class, 0L)));
+        return recargas;
+    }
+
+    private Map<String, Cache<Object, Object>> locais(Environment environment) {
+        Map<String, Cache<Object, Object>> locais = new LinkedHashMap<>();
+        CACHES.forEach((nome, padrao) ->
+            locais.put(nome, cache(environment.getProperty("cache." + nome + ".spec", padrao))));
+        return locais;
+    }
+
+    private Cache<Object, Object> cache(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        // recordStats só pode ser ativado uma vez
+        return (spec.contains("recordStats") ? builder : builder.recordStats()).build();
     }
 }
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import com.deliverytech.delivery_api.datasource.RoteamentoLeitura;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
@@ -26,8 +27,13 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private PedidoRepository pedidoRepository;*/
 
+    // A carga decide o que inserir pelo que já existe: as leituras vão ao primário, não a uma réplica atrasada
     @Override
     public void run(String... args) throws Exception {
+        RoteamentoLeitura.executarNoPrimario(this::carregar);
+    }
+
+    private void carregar() {
         System.out.println("=== INICIANDO CARGA DE DADOS DE TESTE ===");
 
         if (clienteRepository.count() <= 3) {
@@ -26,6 +26,7 @@ import com.deliverytech.delivery_api.security.JwtAuthenticationFilter;
 import com.deliverytech.delivery_api.service.AuthService;
 //import com.deliverytech.delivery_api.service.UsuarioDetailsServiceImpl;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Profile("!test")
@@ -79,6 +80,8 @@ public class SecurityConfig  {
                 .authorizeHttpRequests(auth -> auth
                         // Permite acesso livre à nossa white list
                         .requestMatchers(PUBLIC_MATCHERS).permitAll()
+                        // Despachos assíncronos (streams SSE) já foram autorizados na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Exige autenticação para todas as outras requisições
                         .anyRequest().authenticated()
                 )
@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,16 +21,26 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.deliverytech.delivery_api.dto.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.AtualizacaoStatusLoteDTO;
+import com.deliverytech.delivery_api.dto.CotacaoPedidoDTO;
+import com.deliverytech.delivery_api.dto.FormatoExportacao;
 import com.deliverytech.delivery_api.dto.ItemPedidoDTO;
+import com.deliverytech.delivery_api.dto.ModoPaginacao;
 import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.PedidoDTO;
 import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ResultadoStatusPedidoDTO;
+import com.deliverytech.delivery_api.idempotency.IdempotencyService;
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.security.SecurityUtils;
+import com.deliverytech.delivery_api.service.PedidoExportacaoService;
 import com.deliverytech.delivery_api.service.PedidoServiceImpl;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,9 +57,21 @@ import jakarta.validation.Valid;
 @Tag(name = "Pedidos", description = "Operações relacionadas aos pedidos")
 public class PedidoController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String PRICE_QUOTE_HEADER = "Price-Quote";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
     @Autowired
     private PedidoServiceImpl pedidoService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PedidoExportacaoService pedidoExportacaoService;
+
     // Criar novo pedido
     @PostMapping
     @PreAuthorize("hasRole('CLIENTE')")
@@ -60,15 +85,30 @@ public class PedidoController {
         @ApiResponse(responseCode = "201", description = "Pedido criado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
         @ApiResponse(responseCode = "404", description = "Cliente ou restaurante não encontrado"),
-        @ApiResponse(responseCode = "409", description = "Produto indisponível")
+        @ApiResponse(responseCode = "409", description = "Produto indisponível ou Idempotency-Key reutilizada")
     })
     public ResponseEntity<ApiResponseWrapper<PedidoResponseDTO>> criarPedido(
             @Valid @RequestBody 
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados do pedido a ser criado")
-            PedidoDTO dto) {   
-        PedidoResponseDTO pedido = pedidoService.criarPedido(dto);
-        ApiResponseWrapper<PedidoResponseDTO> response = new ApiResponseWrapper<>(true, pedido, "Pedido criado com sucesso");
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);       
+            PedidoDTO dto,
+            @Parameter(description = "Chave única da requisição; repetições com a mesma chave não criam outro pedido")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            PedidoResponseDTO pedido = pedidoService.criarPedido(dto);
+            ApiResponseWrapper<PedidoResponseDTO> response = new ApiResponseWrapper<>(true, pedido, "Pedido criado com sucesso");
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        // A chave é escopada pelo cliente para não colidir entre clientes diferentes
+        String chave = "pedido:" + dto.getClienteId() + ":" + idempotencyKey;
+        IdempotencyService.Resultado<PedidoResponseDTO> resultado =
+            idempotencyService.executar(chave, dto, PedidoResponseDTO.class, () -> pedidoService.criarPedido(dto));
+
+        ApiResponseWrapper<PedidoResponseDTO> response = new ApiResponseWrapper<>(true, resultado.getResposta(), "Pedido criado com sucesso");
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(resultado.isRepetido()))
+            .body(response);
     }
 
     // Buscar pedido por ID
@@ -91,12 +131,15 @@ public class PedidoController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Listar pedidos", 
-        description = "Lista pedidos com filtros opcionais e paginação",
+        description = "Lista pedidos com filtros opcionais e paginação. Com paginacao=CURSOR a listagem segue a ordem " +
+            "de data decrescente e cada resposta traz o cursor da próxima página, sem calcular o total. Com paginacao=SLICE " +
+            "a resposta informa apenas se há próxima página e, opcionalmente, um total aproximado",
         security = @SecurityRequirement(name = "Bearer Authentication"),
         tags = {"Pedidos"}
     )
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso")
+        @ApiResponse(responseCode = "200", description = "Lista recuperada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido")
     })
     public ResponseEntity<PagedResponseWrapper<PedidoResponseDTO>> listarPedidos(
             @Parameter(description = "Status do pedido") @RequestParam(required = false) StatusPedido status,
@@ -104,14 +147,62 @@ public class PedidoController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @Parameter(description = "Data final")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Forma de paginação")
+            @RequestParam(defaultValue = "PAGINA") ModoPaginacao paginacao,
+            @Parameter(description = "Cursor da próxima página, retornado na resposta anterior (paginacao=CURSOR)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Incluir total aproximado de registros (paginacao=SLICE)")
+            @RequestParam(defaultValue = "false") boolean totalAproximado,
             @Parameter(description = "Parâmetros de paginação") Pageable pageable) {
 
+        if (paginacao == ModoPaginacao.CURSOR) {
+            return ResponseEntity.ok(pedidoService.listarPedidosPorCursor(status, dataInicio, dataFim, cursor, pageable.getPageSize()));
+        }
+        if (paginacao == ModoPaginacao.SLICE) {
+            return ResponseEntity.ok(pedidoService.listarPedidosSemTotal(status, dataInicio, dataFim, pageable, totalAproximado));
+        }
+
         Page<PedidoResponseDTO> pedidos = pedidoService.listarPedidos(status, dataInicio, dataFim, pageable);
         PagedResponseWrapper<PedidoResponseDTO> response = new PagedResponseWrapper<>(pedidos);
 
         return ResponseEntity.ok(response);
     }
 
+    // Exportar pedidos de um período
+    @GetMapping("/exportacao")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Exportar pedidos",
+        description = "Exporta os pedidos do período, em ordem de data, como NDJSON (um pedido por linha) ou CSV. " +
+            "As linhas são enviadas à medida que são lidas do banco, sem paginação",
+        security = @SecurityRequirement(name = "Bearer Authentication"),
+        tags = {"Pedidos"}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Período inválido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @Parameter(description = "Data inicial")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Status do pedido") @RequestParam(required = false) StatusPedido status,
+            @Parameter(description = "Formato do arquivo")
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato) {
+
+        pedidoExportacaoService.validarPeriodo(dataInicio, dataFim);
+
+        boolean csv = formato == FormatoExportacao.CSV;
+        String arquivo = "pedidos-" + dataInicio + "-" + dataFim + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody corpo = saida -> pedidoExportacaoService.exportar(status, dataInicio, dataFim, formato, saida);
+
+        return ResponseEntity.ok()
+            .contentType(csv ? CSV : NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+            .body(corpo);
+    }
+
     // Listar pedidos por cliente
     @GetMapping("/cliente/{clienteId}")
     @Operation(summary = "Histórico do cliente", description = "Lista todos os pedidos de um cliente", tags = {"Pedidos"})
@@ -127,6 +218,26 @@ public class PedidoController {
         return ResponseEntity.ok(response);
     }
 
+    // Histórico do cliente paginado
+    @GetMapping("/cliente/{clienteId}/historico")
+    @Operation(
+        summary = "Histórico paginado do cliente",
+        description = "Lista os pedidos de um cliente com paginação, do mais recente para o mais antigo",
+        tags = {"Pedidos"}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Histórico recuperado com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    })
+    public ResponseEntity<PagedResponseWrapper<PedidoResponseDTO>> listarHistoricoCliente(
+            @Parameter(description = "ID do cliente")
+            @PathVariable Long clienteId,
+            @Parameter(description = "Parâmetros de paginação") Pageable pageable) {
+        Page<PedidoResponseDTO> pedidos = pedidoService.listarHistoricoCliente(clienteId, pageable);
+        PagedResponseWrapper<PedidoResponseDTO> response = new PagedResponseWrapper<>(pedidos);
+        return ResponseEntity.ok(response);
+    }
+
     // Listar pedidos por restaurante
     @GetMapping("/restaurante/{restauranteId}")
     @PreAuthorize("hasRole('RESTAURANTE')")
@@ -150,13 +261,42 @@ public class PedidoController {
     return ResponseEntity.ok(response);
     }
 
+    // Atualizar status de vários pedidos do restaurante
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    @Operation(
+        summary = "Atualizar status em lote",
+        description = "Aplica o novo status a todos os pedidos informados do restaurante autenticado em uma única transação. " +
+            "A resposta traz o resultado de cada pedido",
+        security = @SecurityRequirement(name = "Bearer Authentication"),
+        tags = {"Pedidos"}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lote processado; consulte o resultado de cada pedido"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "403", description = "Usuário não está vinculado a um restaurante")
+    })
+    public ResponseEntity<ApiResponseWrapper<List<ResultadoStatusPedidoDTO>>> atualizarStatusEmLote(
+            @Valid @RequestBody AtualizacaoStatusLoteDTO dto) {
+
+        Long restauranteId = SecurityUtils.getCurrentRestauranteId();
+        if (restauranteId == null) {
+            throw new AccessDeniedException("Usuário não está vinculado a um restaurante");
+        }
+
+        List<ResultadoStatusPedidoDTO> resultados =
+            pedidoService.atualizarStatusEmLote(restauranteId, dto.getPedidoIds(), dto.getStatus());
+        ApiResponseWrapper<List<ResultadoStatusPedidoDTO>> response = new ApiResponseWrapper<>(true, resultados, "Lote processado com sucesso");
+        return ResponseEntity.ok(response);
+    }
+
     // Atualizar status do pedido 
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Atualizar status do pedido", description = "Atualiza o status de um pedido", tags = {"Pedidos"})
+    @Operation(summary = "Atualizar status do pedido", description = "Atualiza o status de um pedido e retorna o pedido atualizado", tags = {"Pedidos"})
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
         @ApiResponse(responseCode = "404", description = "Pedido não encontrado"),
-        @ApiResponse(responseCode = "400", description = "Transição de status inválida")
+        @ApiResponse(responseCode = "409", description = "Transição de status inválida ou status alterado por outra requisição")
     })
     public ResponseEntity<ApiResponseWrapper<PedidoResponseDTO>> atualizarStatusPedido(
             @Parameter(description = "ID do pedido")
@@ -174,7 +314,7 @@ public class PedidoController {
     @ApiResponses({
         @ApiResponse(responseCode = "204", description = "Pedido cancelado com sucesso"),
         @ApiResponse(responseCode = "404", description = "Pedido não encontrado"),
-        @ApiResponse(responseCode = "400", description = "Pedido não pode ser cancelado")
+        @ApiResponse(responseCode = "409", description = "Pedido não pode ser cancelado no status atual")
     })
     public ResponseEntity<Void> cancelarPedido(
             @Parameter(description = "ID do pedido")
@@ -184,19 +324,32 @@ public class PedidoController {
     }
 
     @PostMapping("/calcular")
-    @Operation(summary = "Calcular total do pedido", description = "Calcula o total de um pedido sem salvá-lo", tags = {"Pedidos"})
+    @Operation(summary = "Calcular total do pedido", description = "Calcula o total de um pedido sem salvá-lo. " +
+        "Informando o restaurante, retorna também uma cotação assinada no header Price-Quote", tags = {"Pedidos"})
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Total calculado com sucesso"),
         @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-        @ApiResponse(responseCode = "404", description = "Produto não encontrado")
+        @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+        @ApiResponse(responseCode = "409", description = "Produto indisponível ou de outro restaurante")
     })
     public ResponseEntity<ApiResponseWrapper<BigDecimal>> calcularTotal(
             @Valid @RequestBody 
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Itens para cálculo")
-            List<ItemPedidoDTO> itens) {
-        BigDecimal total = pedidoService.calcularTotalPedido(itens);
-        ApiResponseWrapper<BigDecimal> response = new ApiResponseWrapper<>(true, total, "Total calculado com sucesso");
-        return ResponseEntity.ok(response);
+            List<ItemPedidoDTO> itens,
+            @Parameter(description = "Restaurante do pedido, necessário para emitir a cotação")
+            @RequestParam(required = false) Long restauranteId) {
+
+        if (restauranteId == null) {
+            BigDecimal total = pedidoService.calcularTotalPedido(itens);
+            ApiResponseWrapper<BigDecimal> response = new ApiResponseWrapper<>(true, total, "Total calculado com sucesso");
+            return ResponseEntity.ok(response);
+        }
+
+        CotacaoPedidoDTO cotacao = pedidoService.cotarPedido(restauranteId, itens);
+        ApiResponseWrapper<BigDecimal> response = new ApiResponseWrapper<>(true, cotacao.getTotal(), "Total calculado com sucesso");
+        return ResponseEntity.ok()
+            .header(PRICE_QUOTE_HEADER, cotacao.getToken())
+            .body(response);
     }
     
 }
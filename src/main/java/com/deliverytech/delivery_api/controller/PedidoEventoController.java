@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.security.SecurityUtils;
+import com.deliverytech.delivery_api.service.ClienteServiceImpl;
+import com.deliverytech.delivery_api.service.PedidoEventoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/pedidos/eventos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Pedidos", description = "Operações relacionadas aos pedidos")
+public class PedidoEventoController {
+
+    @Autowired
+    private PedidoEventoService pedidoEventoService;
+
+    @Autowired
+    private ClienteServiceImpl clienteService;
+
+    // Acompanhar pedidos em tempo real
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('RESTAURANTE', 'CLIENTE')")
+    @Operation(
+        summary = "Eventos de pedidos",
+        description = "Abre um stream Server-Sent Events com a criação e as mudanças de status dos pedidos. " +
+            "Restaurantes recebem os pedidos do próprio restaurante; clientes, os seus pedidos",
+        security = @SecurityRequirement(name = "Bearer Authentication"),
+        tags = {"Pedidos"}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream aberto"),
+        @ApiResponse(responseCode = "403", description = "Usuário não está vinculado a um restaurante"),
+        @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    })
+    public SseEmitter acompanharPedidos() {
+        if (SecurityUtils.isRestaurante()) {
+            Long restauranteId = SecurityUtils.getCurrentRestauranteId();
+            if (restauranteId == null) {
+                throw new AccessDeniedException("Usuário não está vinculado a um restaurante");
+            }
+            return pedidoEventoService.assinarRestaurante(restauranteId);
+        }
+
+        Long clienteId = clienteService.buscarClientePorEmail(SecurityUtils.getCurrentUserEmail()).getId();
+        return pedidoEventoService.assinarCliente(clienteId);
+    }
+}
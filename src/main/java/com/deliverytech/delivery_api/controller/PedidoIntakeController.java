@@ -0,0 +1,84 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.deliverytech.delivery_api.dto.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
+import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.service.PedidoIntakeService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+// Disponível apenas com pedido.intake.enabled=true
+@RestController
+@RequestMapping("/api/pedidos/assincrono")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "pedido.intake.enabled", havingValue = "true")
+@Tag(name = "Pedidos", description = "Operações relacionadas aos pedidos")
+public class PedidoIntakeController {
+
+    @Autowired
+    private PedidoIntakeService pedidoIntakeService;
+
+    // Receber pedido para gravação assíncrona
+    @PostMapping
+    @PreAuthorize("hasRole('CLIENTE')")
+    @Operation(
+        summary = "Criar pedido de forma assíncrona",
+        description = "Valida e enfileira o pedido para gravação em lote, retornando um id de acompanhamento",
+        security = @SecurityRequirement(name = "Bearer Authentication"),
+        tags = {"Pedidos"}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Pedido recebido e aguardando gravação"),
+        @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+        @ApiResponse(responseCode = "429", description = "Fila de pedidos cheia; tente novamente após o tempo indicado em Retry-After")
+    })
+    public ResponseEntity<ApiResponseWrapper<PedidoIntakeStatusDTO>> receberPedido(
+            @Valid @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados do pedido a ser criado")
+            PedidoDTO dto) {
+
+        PedidoIntakeStatusDTO situacao = pedidoIntakeService.receber(dto);
+        ApiResponseWrapper<PedidoIntakeStatusDTO> response = new ApiResponseWrapper<>(true, situacao, "Pedido recebido para processamento");
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/pedidos/assincrono/" + situacao.getTrackingId()))
+            .body(response);
+    }
+
+    // Consultar situação de um pedido recebido
+    @GetMapping("/{trackingId}")
+    @Operation(summary = "Acompanhar pedido assíncrono", description = "Consulta a situação de um pedido recebido de forma assíncrona", tags = {"Pedidos"})
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Situação encontrada"),
+        @ApiResponse(responseCode = "404", description = "Id de acompanhamento não encontrado ou expirado")
+    })
+    public ResponseEntity<ApiResponseWrapper<PedidoIntakeStatusDTO>> consultarSituacao(
+            @Parameter(description = "Id de acompanhamento retornado no recebimento")
+            @PathVariable String trackingId) {
+
+        PedidoIntakeStatusDTO situacao = pedidoIntakeService.consultar(trackingId)
+            .orElseThrow(() -> new EntityNotFoundException("Acompanhamento não encontrado: " + trackingId));
+        ApiResponseWrapper<PedidoIntakeStatusDTO> response = new ApiResponseWrapper<>(true, situacao, "Situação do pedido");
+        return ResponseEntity.ok(response);
+    }
+}
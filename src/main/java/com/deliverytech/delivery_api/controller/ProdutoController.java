@@ -1,6 +1,7 @@
 package com.deliverytech.delivery_api.controller;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,11 +18,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.deliverytech.delivery_api.dto.ApiResponseWrapper;
 import com.deliverytech.delivery_api.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
 import com.deliverytech.delivery_api.service.ProdutoServiceImpl;
+import com.deliverytech.delivery_api.service.VersoesCatalogoService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -41,6 +44,9 @@ public class ProdutoController {
     @Autowired
     private ProdutoServiceImpl produtoService;
 
+    @Autowired
+    private VersoesCatalogoService versoesCatalogoService;
+
     // Cadastrar um novo produto
     @PostMapping
     @PreAuthorize("hasRole('RESTAURANTE') or hasRole('ADMIN')")
@@ -69,32 +75,45 @@ public class ProdutoController {
     
     // Listar produtos por restaurante
     @GetMapping("/{restauranteId}/produtos")
-    @Operation(summary = "Produtos do restaurante", description = "Lista todos os produtos de um restaurante", tags = {"Produtos"})
+    @Operation(summary = "Produtos do restaurante", description = "Lista todos os produtos de um restaurante. " +
+        "If-None-Match com o ETag recebido retorna 304 enquanto o cardápio não mudar", tags = {"Produtos"})
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
+        @ApiResponse(responseCode = "304", description = "Cardápio inalterado desde o ETag informado"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
     public ResponseEntity<ApiResponseWrapper<List<ProdutoResponseDTO>>> buscarProdutosPorRestaurante(
             @Parameter(description = "ID do restaurante")
-            @PathVariable Long restauranteId) {
+            @PathVariable Long restauranteId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(versoesCatalogoService.etagCardapio(restauranteId))) {
+            return null;
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarProdutosPorRestaurante(restauranteId);
         ApiResponseWrapper<List<ProdutoResponseDTO>> response = new ApiResponseWrapper<>(true, produtos, "Produtos encontrados");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(versoesCatalogoService.etagCardapio(restauranteId, produtos)).body(response);
     }
 
     // Buscar por ID
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar produto por ID", description = "Recupera um produto específico pelo ID", tags = {"Produtos"})
+    @Operation(summary = "Buscar produto por ID", description = "Recupera um produto específico pelo ID. " +
+        "If-None-Match com o ETag recebido retorna 304 enquanto o produto não mudar", tags = {"Produtos"})
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Produto encontrado"),
+        @ApiResponse(responseCode = "304", description = "Produto inalterado desde o ETag informado"),
         @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
     public ResponseEntity<ApiResponseWrapper<ProdutoResponseDTO>> buscarProdutoPorId(
             @Parameter(description = "ID do produto")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        Optional<String> etag = versoesCatalogoService.etagProduto(id);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
         ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(id);
         ApiResponseWrapper<ProdutoResponseDTO> response = new ApiResponseWrapper<>(true, produto, "Produto encontrado");
-        return ResponseEntity.ok(response);    
+        return ResponseEntity.ok().eTag(versoesCatalogoService.etag(produto)).body(response);
     }
     
     // Atualizar produto
@@ -1,6 +1,8 @@
 package com.deliverytech.delivery_api.controller;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -19,14 +21,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.deliverytech.delivery_api.dto.ApiResponseWrapper;
+import com.deliverytech.delivery_api.dto.ModoPaginacao;
 import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
 import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.exception.BadRequestException;
 //import com.deliverytech.delivery_api.model.Restaurante;
 //import com.deliverytech.delivery_api.service.RestauranteService;
 import com.deliverytech.delivery_api.service.RestauranteServiceImpl;
+import com.deliverytech.delivery_api.service.VersoesCatalogoService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -49,6 +55,9 @@ public class RestauranteController {
     @Autowired
     private RestauranteServiceImpl restauranteService;
 
+    @Autowired
+    private VersoesCatalogoService versoesCatalogoService;
+
     // Cadastrar um novo restaurante
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -80,8 +89,13 @@ public class RestauranteController {
 
     // Listar restaurantes com filtros opcionais
     @GetMapping
-    @Operation(summary = "Listar restaurantes", description = "Lista restaurantes com filtros opcionais e paginação", tags = {"Restaurantes"})
+    @Operation(summary = "Listar restaurantes", description = "Lista restaurantes com filtros opcionais e paginação. " +
+        "Com paginacao=SLICE a resposta informa apenas se há próxima página e, opcionalmente, um total aproximado. " +
+        "Sem o total aproximado, a resposta traz um ETag e If-None-Match com ele retorna 304 enquanto nenhum restaurante mudar",
+        tags = {"Restaurantes"})
     @ApiResponses({
+        @ApiResponse(responseCode = "304", description = "Listagem inalterada desde o ETag informado"),
+        @ApiResponse(responseCode = "400", description = "Forma de paginação, ordenação ou faixa de taxa inválida"),
         @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso", 
             content = @Content(mediaType = "application/json",
                                 schema = @Schema(implementation = RestauranteResponseDTO.class)
@@ -90,28 +104,62 @@ public class RestauranteController {
     public ResponseEntity<PagedResponseWrapper<RestauranteResponseDTO>> listarRestaurantes(
         @Parameter(description = "Categoria do restaurante") @RequestParam(required = false) String categoria,
         @Parameter(description = "Status ativo do restaurante") @RequestParam(required = false) Boolean ativo,
-        @Parameter(description = "Parâmetros de paginação") Pageable pageable) {
+        @Parameter(description = "Taxa de entrega mínima") @RequestParam(required = false) BigDecimal taxaEntregaMin,
+        @Parameter(description = "Taxa de entrega máxima") @RequestParam(required = false) BigDecimal taxaEntregaMax,
+        @Parameter(description = "Avaliação mínima") @RequestParam(required = false) BigDecimal avaliacaoMin,
+        @Parameter(description = "Forma de paginação (PAGINA ou SLICE)") @RequestParam(defaultValue = "PAGINA") ModoPaginacao paginacao,
+        @Parameter(description = "Incluir total aproximado de registros (paginacao=SLICE)")
+        @RequestParam(defaultValue = "false") boolean totalAproximado,
+        @Parameter(description = "Parâmetros de paginação") Pageable pageable,
+        WebRequest webRequest) {
 
-        Page<RestauranteResponseDTO> restaurantes = restauranteService.listarRestaurantes(categoria, ativo, pageable);
-    
-        PagedResponseWrapper<RestauranteResponseDTO> response = new PagedResponseWrapper<>(restaurantes);
-        return ResponseEntity.ok(response);
+        if (paginacao == ModoPaginacao.CURSOR) {
+            throw new BadRequestException("Paginação por cursor não disponível para restaurantes");
+        }
+        if (paginacao == ModoPaginacao.SLICE && totalAproximado) {
+            // O total aproximado muda por conta própria, sem alteração de restaurante; essa resposta não tem ETag
+            return ResponseEntity.ok(restauranteService.listarRestaurantesSemTotal(categoria, ativo,
+                taxaEntregaMin, taxaEntregaMax, avaliacaoMin, pageable, true));
+        }
+
+        // O ETag é lido junto com a listagem, para que uma réplica atrasada não receba o validador de outra
+        VersoesCatalogoService.Listagem<PagedResponseWrapper<RestauranteResponseDTO>> listagem =
+            versoesCatalogoService.listagem(webRequest.getParameterMap(), webRequest::checkNotModified, () -> {
+                if (paginacao == ModoPaginacao.SLICE) {
+                    return restauranteService.listarRestaurantesSemTotal(categoria, ativo,
+                        taxaEntregaMin, taxaEntregaMax, avaliacaoMin, pageable, false);
+                }
+                Page<RestauranteResponseDTO> restaurantes = restauranteService.listarRestaurantes(categoria, ativo,
+                    taxaEntregaMin, taxaEntregaMax, avaliacaoMin, pageable);
+                return new PagedResponseWrapper<>(restaurantes);
+            });
+        if (listagem.conteudo() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(listagem.etag()).body(listagem.conteudo());
     }
 
     // Buscar restaurante por ID
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar restaurante por ID", description = "Recupera um restaurante específico pelo ID", tags = {"Restaurantes"})
+    @Operation(summary = "Buscar restaurante por ID", description = "Recupera um restaurante específico pelo ID. " +
+        "If-None-Match com o ETag recebido retorna 304 enquanto o restaurante não mudar", tags = {"Restaurantes"})
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Restaurante encontrado"),
+        @ApiResponse(responseCode = "304", description = "Restaurante inalterado desde o ETag informado"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
     public ResponseEntity<ApiResponseWrapper<RestauranteResponseDTO>> buscarRestaurantePorId(
             @Parameter(description = "Id do restaurante")
-            @PathVariable @Positive(message = "O ID deve ser positivo") Long id) {
+            @PathVariable @Positive(message = "O ID deve ser positivo") Long id,
+            WebRequest webRequest) {
+        Optional<String> etag = versoesCatalogoService.etagRestaurante(id);
+        if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+            return null;
+        }
         RestauranteResponseDTO restaurante = restauranteService.buscarRestaurantePorId(id);
         ApiResponseWrapper<RestauranteResponseDTO> response =
             new ApiResponseWrapper<>(true, restaurante, "Restaurante encontrado");
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(versoesCatalogoService.etag(restaurante)).body(response);
     }
 
     // Atualizar dados do restaurante
@@ -0,0 +1,147 @@
+package com.deliverytech.delivery_api.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Conexões para transações só de leitura: alterna entre as réplicas disponíveis e usa o primário quando
+// nenhuma responde. Uma réplica que falha ao conectar sai do rodízio até a próxima verificação bem-sucedida
+public class ReplicasDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicasDataSource.class);
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Destino destinoPrimario;
+    private final ScheduledExecutorService verificador;
+
+    public ReplicasDataSource(DataSource primario, List<HikariDataSource> replicas, MeterRegistry meterRegistry,
+                              long intervaloVerificacao) {
+        this.primario = primario;
+        this.replicas = replicas.stream().map(replica -> new Replica(replica, meterRegistry)).toList();
+        this.destinoPrimario = new Destino("primario", meterRegistry);
+
+        verificador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "replicas-verificacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verificador.scheduleWithFixedDelay(this::verificar, intervaloVerificacao, intervaloVerificacao,
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!RoteamentoLeitura.primarioExigido()) {
+            int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((inicio + i) % replicas.size());
+                if (!replica.disponivel) {
+                    continue;
+                }
+                try {
+                    return replica.destino.conectar(replica.dataSource);
+                } catch (SQLException e) {
+                    replica.marcarIndisponivel(e);
+                }
+            }
+        }
+        return destinoPrimario.conectar(primario);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("As réplicas usam as credenciais configuradas nos pools");
+    }
+
+    // Tenta reconectar as réplicas fora do rodízio
+    void verificar() {
+        for (Replica replica : replicas) {
+            if (replica.disponivel) {
+                continue;
+            }
+            try (Connection conexao = replica.dataSource.getConnection()) {
+                if (conexao.isValid(1)) {
+                    replica.disponivel = true;
+                    logger.info("Réplica {} voltou ao rodízio de leituras", replica.destino.nome);
+                }
+            } catch (SQLException e) {
+                logger.debug("Réplica {} continua indisponível: {}", replica.destino.nome, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        verificador.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    // Uso e tempo de obtenção de conexões por destino das leituras
+    private static class Destino {
+        private final String nome;
+        private final Counter usos;
+        private final Timer obtencao;
+
+        Destino(String nome, MeterRegistry meterRegistry) {
+            this.nome = nome;
+            this.usos = Counter.builder("delivery.datasource.leitura.conexoes")
+                .description("Conexões de transações só de leitura por destino")
+                .tag("destino", nome)
+                .register(meterRegistry);
+            this.obtencao = Timer.builder("delivery.datasource.leitura.obtencao.tempo")
+                .description("Tempo para obter uma conexão de leitura por destino")
+                .tag("destino", nome)
+                .register(meterRegistry);
+        }
+
+        Connection conectar(DataSource dataSource) throws SQLException {
+            long inicio = System.nanoTime();
+            Connection conexao = dataSource.getConnection();
+            obtencao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            usos.increment();
+            return conexao;
+        }
+    }
+
+    private static class Replica {
+        private final HikariDataSource dataSource;
+        private final Destino destino;
+        private volatile boolean disponivel = true;
+
+        Replica(HikariDataSource dataSource, MeterRegistry meterRegistry) {
+            this.dataSource = dataSource;
+            this.destino = new Destino(dataSource.getPoolName(), meterRegistry);
+            Gauge.builder("delivery.datasource.replica.disponivel", this, replica -> replica.disponivel ? 1 : 0)
+                .description("Réplica no rodízio de leituras (1) ou fora dele (0)")
+                .tag("destino", dataSource.getPoolName())
+                .register(meterRegistry);
+        }
+
+        void marcarIndisponivel(SQLException e) {
+            if (disponivel) {
+                disponivel = false;
+                logger.warn("Réplica {} fora do rodízio de leituras: {}", destino.nome, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.datasource;
+
+import java.util.function.Supplier;
+
+// Leituras que não podem vir de uma réplica atrasada, como as que alimentam dados mantidos em memória.
+// Vale para a conexão obtida dentro da ação; numa transação só de leitura, ela deve ser o primeiro acesso ao banco
+public final class RoteamentoLeitura {
+
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private RoteamentoLeitura() {
+    }
+
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        Boolean anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIO.remove();
+            }
+        }
+    }
+
+    public static void executarNoPrimario(Runnable acao) {
+        noPrimario(() -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    static boolean primarioExigido() {
+        return PRIMARIO.get() != null;
+    }
+}
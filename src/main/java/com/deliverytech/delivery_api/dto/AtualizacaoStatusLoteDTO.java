@@ -0,0 +1,25 @@
+package com.deliverytech.delivery_api.dto;
+
+import java.util.List;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "Dados para atualizar o status de vários pedidos do restaurante")
+public class AtualizacaoStatusLoteDTO {
+
+    @Schema(description = "Ids dos pedidos", example = "[101, 102, 103]", required = true)
+    @NotEmpty(message = "Informe ao menos um pedido")
+    @Size(max = 200, message = "Máximo de 200 pedidos por requisição")
+    private List<@NotNull(message = "Id do pedido é obrigatório") Long> pedidoIds;
+
+    @Schema(description = "Novo status dos pedidos", example = "CONFIRMADO", required = true)
+    @NotNull(message = "Status é obrigatório")
+    private StatusPedido status;
+}
@@ -1,9 +1,13 @@
 package com.deliverytech.delivery_api.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Dados de resposta de um cliente")
 public class ClienteResponseDTO {
 
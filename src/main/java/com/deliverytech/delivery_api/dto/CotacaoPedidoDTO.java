@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.dto;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Total calculado dos itens e cotação assinada para uso na criação do pedido")
+public class CotacaoPedidoDTO {
+
+    @Schema(description = "Total dos itens, sem a taxa de entrega", example = "64.80")
+    private BigDecimal total;
+
+    @Schema(description = "Taxa de entrega do restaurante", example = "5.00")
+    private BigDecimal taxaEntrega;
+
+    @Schema(description = "Token da cotação; enviar no campo cotacao ao criar o pedido")
+    private String token;
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.dto;
+
+// Formato do arquivo gerado pela exportação de pedidos
+public enum FormatoExportacao {
+    // Um objeto JSON por linha (application/x-ndjson)
+    NDJSON,
+    // Valores separados por vírgula, com cabeçalho
+    CSV
+}
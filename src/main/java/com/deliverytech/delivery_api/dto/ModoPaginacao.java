@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.dto;
+
+// Forma de paginar uma listagem, escolhida por requisição
+public enum ModoPaginacao {
+    // Página numerada com total de elementos (executa COUNT)
+    PAGINA,
+    // Página numerada sem total: busca size+1 registros e informa apenas se há próxima página
+    SLICE,
+    // Busca a partir de um cursor opaco, sem COUNT e sem OFFSET
+    CURSOR
+}
@@ -3,6 +3,9 @@ package com.deliverytech.delivery_api.dto;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
@@ -15,11 +18,21 @@ public class PagedResponseWrapper<T> {
     private List<T> content;
 
     @Schema(description = "Informações de paginação")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private PageInfo page;
 
     @Schema(description = "Links de navegação")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private PageLinks links;
 
+    @Schema(description = "Informações da paginação sem total")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SliceInfo slice;
+
+    @Schema(description = "Informações da paginação por cursor")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CursorInfo cursor;
+
     public PagedResponseWrapper(Page<T> page) {
         this.content = page.getContent();
         this.page = new PageInfo(
@@ -32,6 +45,24 @@ public class PagedResponseWrapper<T> {
         this.links = new PageLinks(page);
     }
 
+    // Paginação sem COUNT: informa apenas se há próxima página e, se pedido, um total aproximado
+    public PagedResponseWrapper(Slice<T> slice, Long totalAproximado) {
+        this.content = slice.getContent();
+        this.slice = new SliceInfo(
+                slice.getNumber(),
+                slice.getSize(),
+                slice.isFirst(),
+                slice.hasNext(),
+                totalAproximado);
+        this.links = new PageLinks(slice);
+    }
+
+    // Paginação por cursor: não há total nem número de página, apenas o cursor da próxima página
+    public PagedResponseWrapper(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.cursor = new CursorInfo(size, nextCursor);
+    }
+
     @Schema(description = "Informações de paginação")
     public static class PageInfo {
         @Schema(description = "Número da página atual (base 0)", example = "0")
@@ -113,6 +144,18 @@ public class PagedResponseWrapper<T> {
             }
         }
 
+        // Sem total não há link para a última página
+        public PageLinks(Slice<?> slice) {
+            String baseUrl = "/api";
+            this.first = baseUrl + "?page=0&size=" + slice.getSize();
+            if (slice.hasNext()) {
+                this.next = baseUrl + "?page=" + (slice.getNumber() + 1) + "&size=" + slice.getSize();
+            }
+            if (slice.hasPrevious()) {
+                this.prev = baseUrl + "?page=" + (slice.getNumber() - 1) + "&size=" + slice.getSize();
+            }
+        }
+
         // Getters
         public String getFirst() {
             return first;
@@ -131,6 +174,85 @@ public class PagedResponseWrapper<T> {
         }
     }
 
+    @Schema(description = "Informações da paginação sem total")
+    public static class SliceInfo {
+        @Schema(description = "Número da página atual (base 0)", example = "0")
+        private int number;
+
+        @Schema(description = "Tamanho da página", example = "10")
+        private int size;
+
+        @Schema(description = "É a primeira página", example = "true")
+        private boolean first;
+
+        @Schema(description = "Existe próxima página", example = "true")
+        private boolean hasNext;
+
+        @Schema(description = "Total aproximado de elementos, atualizado periodicamente; presente só quando solicitado", example = "1500")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long approximateTotal;
+
+        public SliceInfo(int number, int size, boolean first, boolean hasNext, Long approximateTotal) {
+            this.number = number;
+            this.size = size;
+            this.first = first;
+            this.hasNext = hasNext;
+            this.approximateTotal = approximateTotal;
+        }
+
+        // Getters
+        public int getNumber() {
+            return number;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isFirst() {
+            return first;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public Long getApproximateTotal() {
+            return approximateTotal;
+        }
+    }
+
+    @Schema(description = "Informações da paginação por cursor")
+    public static class CursorInfo {
+        @Schema(description = "Tamanho da página", example = "10")
+        private int size;
+
+        @Schema(description = "Existe próxima página", example = "true")
+        private boolean hasNext;
+
+        @Schema(description = "Cursor opaco para buscar a próxima página", example = "MjAyNS0wMS0xNVQxMjozMDowMHw0Mg")
+        private String next;
+
+        public CursorInfo(int size, String next) {
+            this.size = size;
+            this.hasNext = next != null;
+            this.next = next;
+        }
+
+        // Getters
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public String getNext() {
+            return next;
+        }
+    }
+
     // Getters
     public List<T> getContent() {
         return content;
@@ -144,4 +266,12 @@ public class PagedResponseWrapper<T> {
         return links;
     }
 
+    public SliceInfo getSlice() {
+        return slice;
+    }
+
+    public CursorInfo getCursor() {
+        return cursor;
+    }
+
 }
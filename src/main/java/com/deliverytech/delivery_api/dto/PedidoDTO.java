@@ -59,6 +59,9 @@ public class PedidoDTO {
     message = "Forma de pagamento deve ser: DINHEIRO, CARTAO_CREDITO, CARTAO_DEBITO ou PIX")
     private String formaPagamento;
 
+    @Schema(description = "Token de cotação retornado por /api/pedidos/calcular; quando válido, os preços cotados são mantidos", required = false)
+    private String cotacao;
+
     /*      
     private LocalDateTime dataPedido;
     private StatusPedido status;
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.dto;
+
+import java.time.LocalDateTime;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evento de criação ou mudança de status de um pedido, enviado por Server-Sent Events")
+public class PedidoEventoDTO {
+
+    @Schema(description = "Id do pedido", type = "string", example = "401258741235712000")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long pedidoId;
+
+    @Schema(description = "Id do restaurante do pedido", example = "1")
+    private Long restauranteId;
+
+    @Schema(description = "Id do cliente do pedido", example = "1")
+    private Long clienteId;
+
+    @Schema(description = "Novo status do pedido; PENDENTE indica um pedido recém-criado", example = "CONFIRMADO")
+    private StatusPedido status;
+
+    @Schema(description = "Momento da alteração")
+    private LocalDateTime dataHora;
+}
@@ -0,0 +1,45 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Situação de um pedido recebido de forma assíncrona")
+public class PedidoIntakeStatusDTO {
+
+    public enum Situacao {
+        NA_FILA, PROCESSANDO, CRIADO, REJEITADO
+    }
+
+    @Schema(description = "Identificador de acompanhamento retornado no recebimento", example = "3f2b8c1e-6a0d-4f5e-9b7a-2c1d0e9f8a7b")
+    private String trackingId;
+
+    @Schema(description = "Situação atual do processamento", example = "CRIADO")
+    private Situacao situacao;
+
+    @Schema(description = "Id do pedido criado, quando a situação for CRIADO", type = "string", example = "401258741235712000")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long pedidoId;
+
+    @Schema(description = "Motivo da rejeição, quando a situação for REJEITADO", example = "Restaurante não está disponível")
+    private String mensagem;
+
+    public static PedidoIntakeStatusDTO naFila(String trackingId) {
+        return new PedidoIntakeStatusDTO(trackingId, Situacao.NA_FILA, null, null);
+    }
+
+    public static PedidoIntakeStatusDTO criado(Long pedidoId) {
+        return new PedidoIntakeStatusDTO(null, Situacao.CRIADO, pedidoId, null);
+    }
+
+    public static PedidoIntakeStatusDTO rejeitado(String mensagem) {
+        return new PedidoIntakeStatusDTO(null, Situacao.REJEITADO, null, mensagem);
+    }
+}
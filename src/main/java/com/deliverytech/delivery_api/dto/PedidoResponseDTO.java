@@ -5,15 +5,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Dados de resposta de um pedido")
 public class PedidoResponseDTO {
 
-    @Schema(description = "Identificador único do pedido", example = "1")
+    // Ids Snowflake passam de 2^53 e perderiam precisão como número em clientes JavaScript
+    @Schema(description = "Identificador único do pedido", type = "string", example = "401258741235712000")
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
 
     @Schema(description = "Id do cliente que realizou o pedido", example = "15")
@@ -45,5 +51,20 @@ public class PedidoResponseDTO {
 
     @Schema(description = "Forma de pagamento escolhida", example = "CARTAO_CREDITO")
     private String formaPagamento;
+
+    // Usado pelas consultas que projetam direto neste DTO; os itens são buscados em seguida
+    public PedidoResponseDTO(Long id, Long clienteId, Long restauranteId, String enderecoEntrega, LocalDateTime dataPedido,
+                             StatusPedido status, BigDecimal valorTotal, String observacoes, String cep, String formaPagamento) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.restauranteId = restauranteId;
+        this.enderecoEntrega = enderecoEntrega;
+        this.dataPedido = dataPedido;
+        this.status = status;
+        this.valorTotal = valorTotal;
+        this.observacoes = observacoes;
+        this.cep = cep;
+        this.formaPagamento = formaPagamento;
+    }
     
 }
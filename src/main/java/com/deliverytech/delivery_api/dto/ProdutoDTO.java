@@ -13,6 +13,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 //import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -52,6 +53,10 @@ public class ProdutoDTO {
     @AssertTrue(message = "Produto deve estar disponível por padrão")
     private boolean disponivel;
 
+    @Schema(description = "Quantidade em estoque; se omitida, o produto não tem controle de estoque", example = "50")
+    @PositiveOrZero(message = "Estoque não pode ser negativo")
+    private Integer estoque;
+
 }
 
     /* 
@@ -1,13 +1,18 @@
 package com.deliverytech.delivery_api.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Dados de resposta de um produto")
-public class ProdutoResponseDTO {
+public class ProdutoResponseDTO implements Serializable {
 
     @Schema(description = "Identificador único do produto", example = "1")
     private Long id;
@@ -29,5 +34,8 @@ public class ProdutoResponseDTO {
 
     @Schema(description = "Indica se o produto está disponível para venda", example = "true")
     private boolean disponivel;
+
+    @Schema(description = "Versão do produto, incrementada a cada alteração", example = "3")
+    private Long versao;
     
 }
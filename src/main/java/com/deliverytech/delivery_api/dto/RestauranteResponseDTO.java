@@ -1,13 +1,18 @@
 package com.deliverytech.delivery_api.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Dados de resposta de um restaurante")
-public class RestauranteResponseDTO {
+public class RestauranteResponseDTO implements Serializable {
 
     @Schema(description = "Identificador único do restaurante", example = "1")
     private Long id;
@@ -32,5 +37,8 @@ public class RestauranteResponseDTO {
 
     @Schema(description = "Avaliação média do restaurante (0 a 5 estrelas)", example = "4.5", minimum = "0", maximum = "5")
     private BigDecimal avaliacao;
+
+    @Schema(description = "Versão do restaurante, incrementada a cada alteração", example = "3")
+    private Long versao;
     
 }
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.dto;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da atualização de status de um pedido")
+public class ResultadoStatusPedidoDTO {
+
+    public enum Resultado {
+        ATUALIZADO, NAO_ENCONTRADO, TRANSICAO_INVALIDA
+    }
+
+    @Schema(description = "Id do pedido", type = "string", example = "401258741235712000")
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long pedidoId;
+
+    @Schema(description = "Resultado da atualização", example = "ATUALIZADO")
+    private Resultado resultado;
+
+    @Schema(description = "Status do pedido após a operação; vazio se o pedido não foi encontrado", example = "CONFIRMADO")
+    private StatusPedido status;
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.exception;
+
+public class BadRequestException extends BusinessException {
+
+    public BadRequestException(String message) {
+        super(message);
+        this.setErrorCode("BAD_REQUEST");
+    }
+}
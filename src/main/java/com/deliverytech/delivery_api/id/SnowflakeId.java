@@ -0,0 +1,17 @@
+package com.deliverytech.delivery_api.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// Usa ids gerados pelo SnowflakeIdGenerator no lugar de IDENTITY, permitindo que os INSERTs
+// sejam agrupados em lotes JDBC (hibernate.jdbc.batch_size)
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface SnowflakeId {
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.delivery_api.id;
+
+import java.time.Clock;
+import java.time.Instant;
+
+// Ids de 64 bits ordenados pelo tempo, gerados em memória sem consultar o banco:
+// 41 bits de milissegundos desde EPOCA | 10 bits de nó | 12 bits de sequência
+public class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z; os 41 bits de tempo cobrem cerca de 69 anos a partir daqui
+    public static final long EPOCA = 1704067200000L;
+
+    private static final int BITS_NO = 10;
+    private static final int BITS_SEQUENCIA = 12;
+
+    public static final long MAX_NO = (1L << BITS_NO) - 1;
+    private static final long MAX_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+
+    private final long no;
+    private final Clock relogio;
+
+    private long ultimoTimestamp = -1;
+    private long sequencia;
+
+    public SnowflakeIdGenerator(long no) {
+        this(no, Clock.systemUTC());
+    }
+
+    public SnowflakeIdGenerator(long no, Clock relogio) {
+        if (no < 0 || no > MAX_NO) {
+            throw new IllegalArgumentException("Id do nó deve estar entre 0 e " + MAX_NO + ": " + no);
+        }
+        this.no = no;
+        this.relogio = relogio;
+    }
+
+    public synchronized long proximoId() {
+        // Se o relógio voltar, continua no último timestamp para nunca repetir nem desordenar ids
+        long timestamp = Math.max(relogio.millis() - EPOCA, ultimoTimestamp);
+
+        if (timestamp == ultimoTimestamp) {
+            sequencia = (sequencia + 1) & MAX_SEQUENCIA;
+            if (sequencia == 0) {
+                // Sequência esgotada neste milissegundo: avança para o próximo
+                timestamp++;
+            }
+        } else {
+            sequencia = 0;
+        }
+
+        ultimoTimestamp = timestamp;
+        return (timestamp << (BITS_NO + BITS_SEQUENCIA)) | (no << BITS_SEQUENCIA) | sequencia;
+    }
+
+    // Momento aproximado em que o id foi gerado
+    public static Instant instante(long id) {
+        return Instant.ofEpochMilli((id >>> (BITS_NO + BITS_SEQUENCIA)) + EPOCA);
+    }
+
+    public static long no(long id) {
+        return (id >>> BITS_SEQUENCIA) & MAX_NO;
+    }
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.id;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+// Integração do SnowflakeIdGenerator com o Hibernate. O id do nó vem da propriedade
+// snowflake.node-id (spring.jpa.properties.snowflake.node-id) e deve ser único por instância
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID = "snowflake.node-id";
+
+    // Um gerador por nó, compartilhado entre as entidades
+    private static final Map<Long, SnowflakeIdGenerator> GERADORES = new ConcurrentHashMap<>();
+
+    private final SnowflakeIdGenerator gerador;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member membro, CustomIdGeneratorCreationContext contexto) {
+        long no = contexto.getServiceRegistry().requireService(ConfigurationService.class)
+            .getSetting(NODE_ID, StandardConverters.INTEGER, 0);
+        this.gerador = GERADORES.computeIfAbsent(no, SnowflakeIdGenerator::new);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entidade) {
+        return gerador.proximoId();
+    }
+}
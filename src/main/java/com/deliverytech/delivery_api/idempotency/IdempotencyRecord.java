@@ -0,0 +1,27 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // Hash da requisição original, usado para detectar reuso da chave com outro conteúdo
+    private String fingerprint;
+
+    private boolean concluido;
+
+    // Resposta serializada em JSON, preenchida quando a requisição original termina
+    private String resposta;
+
+    public static IdempotencyRecord emProcessamento(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, false, null);
+    }
+
+    public static IdempotencyRecord concluido(String fingerprint, String resposta) {
+        return new IdempotencyRecord(fingerprint, true, resposta);
+    }
+}
@@ -0,0 +1,173 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class IdempotencyService {
+
+    private static final long INTERVALO_CONSULTA = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final long tempoEspera;
+
+    // Requisições em execução nesta instância, para que as repetições aguardem o mesmo resultado
+    private final Map<String, CompletableFuture<IdempotencyRecord>> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper,
+                              @Value("${idempotency.wait-timeout:10000}") long tempoEspera) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.tempoEspera = tempoEspera;
+    }
+
+    // Executa a operação uma única vez por chave; repetições recebem a resposta armazenada
+    public <T> Resultado<T> executar(String chave, Object requisicao, Class<T> tipoResposta, Supplier<T> operacao) {
+        String fingerprint = calcularFingerprint(requisicao);
+        long limite = System.currentTimeMillis() + tempoEspera;
+
+        while (true) {
+            Optional<IdempotencyRecord> existente = store.reservar(chave, IdempotencyRecord.emProcessamento(fingerprint));
+            if (existente.isEmpty()) {
+                return new Resultado<>(executarReservado(chave, fingerprint, operacao), false);
+            }
+
+            IdempotencyRecord registro = existente.get();
+            if (!fingerprint.equals(registro.getFingerprint())) {
+                throw new ConflictException("Idempotency-Key já utilizada em uma requisição diferente", "Idempotency-Key", chave);
+            }
+
+            if (!registro.isConcluido()) {
+                registro = aguardarConclusao(chave, limite);
+                if (registro == null) {
+                    // A requisição original falhou e liberou a chave: tenta processar novamente
+                    continue;
+                }
+            }
+
+            return new Resultado<>(desserializar(registro.getResposta(), tipoResposta), true);
+        }
+    }
+
+    private <T> T executarReservado(String chave, String fingerprint, Supplier<T> operacao) {
+        CompletableFuture<IdempotencyRecord> futuro = new CompletableFuture<>();
+        emAndamento.put(chave, futuro);
+        try {
+            T resposta = operacao.get();
+            IdempotencyRecord concluido = IdempotencyRecord.concluido(fingerprint, serializar(resposta));
+            store.concluir(chave, concluido);
+            futuro.complete(concluido);
+            return resposta;
+        } catch (RuntimeException e) {
+            // Libera a chave para que uma nova tentativa do cliente possa ser processada
+            store.remover(chave);
+            futuro.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, futuro);
+        }
+    }
+
+    private IdempotencyRecord aguardarConclusao(String chave, long limite) {
+        CompletableFuture<IdempotencyRecord> futuro = emAndamento.get(chave);
+        if (futuro != null) {
+            try {
+                return futuro.get(Math.max(0, limite - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw emProcessamento(chave);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw emProcessamento(chave);
+            }
+        }
+
+        // Requisição original em outra instância: consulta o store até que ela termine
+        while (System.currentTimeMillis() < limite) {
+            Optional<IdempotencyRecord> registro = store.buscar(chave);
+            if (registro.isEmpty()) {
+                return null;
+            }
+            if (registro.get().isConcluido()) {
+                return registro.get();
+            }
+            try {
+                Thread.sleep(INTERVALO_CONSULTA);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw emProcessamento(chave);
+    }
+
+    private ConflictException emProcessamento(String chave) {
+        return new ConflictException("Requisição com esta Idempotency-Key ainda está em processamento", "Idempotency-Key", chave);
+    }
+
+    private String calcularFingerprint(Object requisicao) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(serializar(requisicao).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta idempotente", e);
+        }
+    }
+
+    private <T> T desserializar(String valor, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(valor, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler resposta idempotente", e);
+        }
+    }
+
+    public static class Resultado<T> {
+        private final T resposta;
+        private final boolean repetido;
+
+        public Resultado(T resposta, boolean repetido) {
+            this.resposta = resposta;
+            this.repetido = repetido;
+        }
+
+        public T getResposta() {
+            return resposta;
+        }
+
+        public boolean isRepetido() {
+            return repetido;
+        }
+    }
+}
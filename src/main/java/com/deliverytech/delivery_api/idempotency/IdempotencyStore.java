@@ -0,0 +1,17 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.util.Optional;
+
+// Armazenamento das chaves de idempotência. A implementação padrão é em memória;
+// para compartilhar entre instâncias basta registrar outro bean (ex.: Redis)
+public interface IdempotencyStore {
+
+    // Reserva a chave; retorna vazio se a reserva foi feita agora ou o registro já existente
+    Optional<IdempotencyRecord> reservar(String chave, IdempotencyRecord registro);
+
+    Optional<IdempotencyRecord> buscar(String chave);
+
+    void concluir(String chave, IdempotencyRecord registro);
+
+    void remover(String chave);
+}
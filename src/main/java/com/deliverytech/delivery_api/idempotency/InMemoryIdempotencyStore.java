@@ -0,0 +1,111 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.exception.TooManyRequestsException;
+
+// Com o limite de chaves atingido, a chave concluída mais antiga dá lugar à nova. Chaves em processamento
+// nunca são descartadas: sem elas a repetição executaria a operação de novo. Se todas estiverem em
+// processamento, a nova chave é recusada com 429
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryIdempotencyStore.class);
+
+    private final long ttl;
+    private final int maxEntradas;
+
+    // Ordem de inserção: como o TTL é o mesmo para todas as chaves, as expiradas ficam sempre no início
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.ttl:86400000}") long ttl,
+                                    @Value("${idempotency.max-entries:10000}") int maxEntradas) {
+        this.ttl = ttl;
+        this.maxEntradas = maxEntradas;
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> reservar(String chave, IdempotencyRecord registro) {
+        removerExpiradas();
+
+        Entrada existente = entradas.get(chave);
+        if (existente != null) {
+            return Optional.of(existente.registro);
+        }
+
+        if (entradas.size() >= maxEntradas) {
+            liberarEspaco();
+        }
+        entradas.put(chave, new Entrada(registro, System.currentTimeMillis() + ttl));
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Optional<IdempotencyRecord> buscar(String chave) {
+        removerExpiradas();
+        Entrada entrada = entradas.get(chave);
+        return entrada != null ? Optional.of(entrada.registro) : Optional.empty();
+    }
+
+    // A reserva pode ter expirado durante uma operação demorada: o resultado é guardado de novo
+    @Override
+    public synchronized void concluir(String chave, IdempotencyRecord registro) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null) {
+            entrada.registro = registro;
+        } else {
+            entradas.put(chave, new Entrada(registro, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    @Override
+    public synchronized void remover(String chave) {
+        entradas.remove(chave);
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size();
+    }
+
+    private void liberarEspaco() {
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().registro.isConcluido()) {
+                iterator.remove();
+                // Uma repetição dessa chave dentro do TTL executaria a operação de novo
+                logger.warn("Chave de idempotência concluída descartada antes de expirar; "
+                    + "idempotency.max-entries ({}) não comporta as chaves de idempotency.ttl", maxEntradas);
+                return;
+            }
+        }
+        throw new TooManyRequestsException("Muitas requisições com Idempotency-Key em processamento, "
+            + "tente novamente em instantes", 1);
+    }
+
+    private void removerExpiradas() {
+        long agora = System.currentTimeMillis();
+        Iterator<Entrada> iterator = entradas.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiraEm <= agora) {
+            iterator.remove();
+        }
+    }
+
+    private static class Entrada {
+        private IdempotencyRecord registro;
+        private final long expiraEm;
+
+        private Entrada(IdempotencyRecord registro, long expiraEm) {
+            this.registro = registro;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Backend compartilhado entre instâncias, ativado com idempotency.store=redis
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIXO = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                 @Value("${idempotency.ttl:86400000}") long ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMillis(ttl);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reservar(String chave, IdempotencyRecord registro) {
+        Boolean reservado = redisTemplate.opsForValue().setIfAbsent(PREFIXO + chave, serializar(registro), ttl);
+        if (Boolean.TRUE.equals(reservado)) {
+            return Optional.empty();
+        }
+        // A chave pode ter expirado entre as duas chamadas; nesse caso tenta reservar de novo
+        return buscar(chave).or(() -> reservar(chave, registro));
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> buscar(String chave) {
+        String valor = redisTemplate.opsForValue().get(PREFIXO + chave);
+        return valor != null ? Optional.of(desserializar(valor)) : Optional.empty();
+    }
+
+    @Override
+    public void concluir(String chave, IdempotencyRecord registro) {
+        redisTemplate.opsForValue().setIfPresent(PREFIXO + chave, serializar(registro), ttl);
+    }
+
+    @Override
+    public void remover(String chave) {
+        redisTemplate.delete(PREFIXO + chave);
+    }
+
+    private String serializar(IdempotencyRecord registro) {
+        try {
+            return objectMapper.writeValueAsString(registro);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar registro de idempotência", e);
+        }
+    }
+
+    private IdempotencyRecord desserializar(String valor) {
+        try {
+            return objectMapper.readValue(valor, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler registro de idempotência", e);
+        }
+    }
+}
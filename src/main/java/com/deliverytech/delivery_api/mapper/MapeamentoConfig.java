@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+// Configuração comum dos mappers gerados em tempo de compilação (MapStruct).
+// Como no ModelMapper usado antes, só são copiados os campos com o mesmo nome nos dois lados;
+// os demais ficam com o valor padrão do destino
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface MapeamentoConfig {
+}
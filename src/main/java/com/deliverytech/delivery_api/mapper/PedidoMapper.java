@@ -0,0 +1,25 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.deliverytech.delivery_api.dto.ItemPedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+
+@Mapper(config = MapeamentoConfig.class)
+public interface PedidoMapper {
+
+    // Os ids das associações, como nas respostas projetadas pelas consultas (ver PedidoRepository.SELECT_RESPOSTA)
+    @Mapping(source = "cliente.id", target = "clienteId")
+    @Mapping(source = "restaurante.id", target = "restauranteId")
+    PedidoResponseDTO toResponseDTO(Pedido pedido);
+
+    List<PedidoResponseDTO> toResponseDTOList(List<Pedido> pedidos);
+
+    @Mapping(source = "produto.id", target = "produtoId")
+    ItemPedidoDTO toItemDTO(ItemPedido item);
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+
+import com.deliverytech.delivery_api.dto.ProdutoDTO;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.model.Produto;
+
+@Mapper(config = MapeamentoConfig.class)
+public interface ProdutoMapper {
+
+    Produto toEntity(ProdutoDTO dto);
+
+    ProdutoResponseDTO toResponseDTO(Produto produto);
+
+    List<ProdutoResponseDTO> toResponseDTOList(List<Produto> produtos);
+}
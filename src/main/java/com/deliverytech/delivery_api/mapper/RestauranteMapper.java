@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+
+import com.deliverytech.delivery_api.dto.RestauranteDTO;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+@Mapper(config = MapeamentoConfig.class)
+public interface RestauranteMapper {
+
+    Restaurante toEntity(RestauranteDTO dto);
+
+    RestauranteResponseDTO toResponseDTO(Restaurante restaurante);
+
+    List<RestauranteResponseDTO> toResponseDTOList(List<Restaurante> restaurantes);
+}
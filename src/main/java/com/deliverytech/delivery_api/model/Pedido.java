@@ -6,6 +6,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
+import com.deliverytech.delivery_api.id.SnowflakeId;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
@@ -13,12 +17,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "pedido") 
+@Table(name = "pedido", indexes = {
+    // Histórico do cliente e pedidos do restaurante por status; as chaves estrangeiras sozinhas não cobrem a ordem por data
+    @Index(name = "idx_pedido_cliente_data", columnList = "cliente_id, data_pedido"),
+    @Index(name = "idx_pedido_restaurante_status", columnList = "restaurante_id, status"),
+    // Listagens administrativas por status e período, exportação e paginação por cursor
+    @Index(name = "idx_pedido_status_data", columnList = "status, data_pedido"),
+    @Index(name = "idx_pedido_data", columnList = "data_pedido")
+})
 @Schema(description = "Entidade que representa um pedido realizado por um cliente.")
+// Plano de carga das listagens paginadas que ainda leem entidades: cliente e restaurante juntos,
+// e os itens em lote (ver @BatchSize). As buscas sem paginação usam projeções (ver PedidoRepository)
+@NamedEntityGraph(name = Pedido.GRAFO_LISTAGEM, attributeNodes = {
+    @NamedAttributeNode("cliente"), @NamedAttributeNode("restaurante")
+})
 public class Pedido {
 
+    public static final String GRAFO_LISTAGEM = "Pedido.listagem";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     @Schema(description = "Identificador único do pedido.", example = "1")
     private Long id;
 
@@ -63,6 +81,7 @@ public class Pedido {
 
     @Schema(description = "Lista de itens incluídos no pedido.")
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<ItemPedido> itens;
 
     /*
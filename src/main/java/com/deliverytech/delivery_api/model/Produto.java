@@ -5,6 +5,8 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
@@ -12,7 +14,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "produto")
+@Table(name = "produto", indexes = {
+    @Index(name = "idx_produto_categoria_disponivel", columnList = "categoria, disponivel")
+})
 @Schema(description = "Entidade que representa um produto oferecido por um restaurante.")
 public class Produto {
 
@@ -36,9 +40,22 @@ public class Produto {
     @Schema(description = "Indica se o produto está disponível para venda.", example = "true", defaultValue = "true")
     private boolean disponivel; 
 
+    // Gravado só na inclusão; depois, apenas pelo EstoqueService. Um UPDATE da entidade carregada antes
+    // sobrescreveria as diferenças que ele já gravou
+    @Schema(description = "Quantidade em estoque. Nulo quando o produto não tem controle de estoque.", example = "50")
+    @Column(updatable = false)
+    private Integer estoque;
+
     @Schema(description = "URL da imagem do produto.", example = "http://example.com/imagens/produto1.jpg")
     private String imagemUrl;
 
+    // Incrementada a cada alteração; identifica o conteúdo nos validadores (ETag) das consultas
+    @Schema(description = "Versão do produto, incrementada a cada alteração.", example = "3")
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @Schema(description = "Restaurante ao qual o produto pertence.", example = "1")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurante_id", nullable = false)
@@ -6,10 +6,17 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
-@Table(name = "restaurante")
+@Table(name = "restaurante", indexes = {
+    // Filtros de igualdade primeiro e a faixa de taxa de entrega por último
+    @Index(name = "idx_restaurante_categoria_ativo_taxa", columnList = "categoria, ativo, taxa_entrega"),
+    @Index(name = "idx_restaurante_ativo_avaliacao", columnList = "ativo, avaliacao"),
+    @Index(name = "idx_restaurante_ativo_taxa", columnList = "ativo, taxa_entrega")
+})
 @Schema(description = "Entidade que representa um restaurante no sistema de delivery.")
 @Data
 @NoArgsConstructor
@@ -51,6 +58,13 @@ public class Restaurante {
     @Builder.Default
     private boolean ativo = true;
 
+    // Incrementada a cada alteração; identifica o conteúdo nos validadores (ETag) das consultas
+    @Schema(description = "Versão do restaurante, incrementada a cada alteração.", example = "3")
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @Schema(description = "Lista de produtos oferecidos pelo restaurante.")
     @Builder.Default
     @OneToMany(mappedBy = "restaurante", cascade = CascadeType.ALL)
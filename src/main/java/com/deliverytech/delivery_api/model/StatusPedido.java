@@ -2,6 +2,7 @@ package com.deliverytech.delivery_api.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+// A ordem das constantes segue as transições: um pedido só passa para um status declarado depois do atual
 @Schema(description = "Status do pedido")
 public enum StatusPedido {
     @Schema(description = "Pedido criado, aguardando confirmação")
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
 import com.deliverytech.delivery_api.model.Cliente;
 
 @Repository
@@ -24,6 +25,11 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     // Buscar clientes ativos
     List<Cliente> findByAtivoTrue();
 
+    // Clientes ativos com apenas as colunas da resposta, sem carregar as entidades
+    @Query("SELECT new com.deliverytech.delivery_api.dto.ClienteResponseDTO(c.id, c.nome, c.email, c.telefone, c.endereco, c.ativo) " +
+        "FROM Cliente c WHERE c.ativo = true")
+    List<ClienteResponseDTO> findRespostaByAtivoTrue();
+
     // Buscar clientes por nome (contendo)
     List<Cliente> findByNomeContainingIgnoreCase(String nome);
  
@@ -47,7 +53,7 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     List<Cliente> findByAtivoTrueWithPedidos();
 
     // Query nativa - clientes por cidade
-    @Query(value = "SELECT * FROM clientes WHERE endereco LIKE %:cidade% AND ativo = true",
+    @Query(value = "SELECT * FROM cliente WHERE endereco LIKE %:cidade% AND ativo = true",
         nativeQuery = true)
     List<Cliente> findByCidade(@Param("cidade") String cidade);
 
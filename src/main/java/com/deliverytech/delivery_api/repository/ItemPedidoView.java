@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.repository;
+
+// Projeção com os campos de um item usados na resposta do pedido
+public interface ItemPedidoView {
+
+    Long getPedidoId();
+
+    Long getProdutoId();
+
+    Integer getQuantidade();
+}
@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.repository;
+
+// Projeção com o restaurante e o cliente de um pedido, para endereçar eventos sem carregar o pedido
+public interface PedidoDestinatariosView {
+
+    Long getId();
+
+    Long getRestauranteId();
+
+    Long getClienteId();
+}
@@ -2,35 +2,48 @@ package com.deliverytech.delivery_api.repository;
 
 //import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery_api.dto.ClienteAtivoDTO;
 import com.deliverytech.delivery_api.dto.PedidoPeriodoDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
 import com.deliverytech.delivery_api.dto.ProdutoMaisVendidoDTO;
 import com.deliverytech.delivery_api.dto.VendasRestauranteDTO;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
 
-@Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
-        // Buscar pedidos por cliente
-        List<Pedido> findByClienteId(Long clienteId);
+@Repository
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecificationExecutor<Pedido> {
 
-        // Buscar pedidos por restaurante
-        List<Pedido> findByRestauranteId(Long restauranteId);
+        // Colunas de PedidoResponseDTO, exceto os itens (ver findItensByPedidoIdIn)
+        String SELECT_RESPOSTA = "SELECT new com.deliverytech.delivery_api.dto.PedidoResponseDTO(p.id, p.cliente.id, " +
+           "p.restaurante.id, p.enderecoEntrega, p.dataPedido, p.status, p.valorTotal, p.observacoes, p.cep, " +
+           "p.formaPagamento) FROM Pedido p ";
 
-        // Buscar pedidos por restaurante e status definido
-        List<Pedido> findByRestauranteIdAndStatus(Long restauranteId, StatusPedido status);
+        // Linhas buscadas por ida ao banco na exportação. No MySQL o driver só respeita o valor com
+        // useCursorFetch=true (definido em spring.datasource.hikari.data-source-properties); sem isso ele
+        // carrega todo o resultado antes de entregar a primeira linha
+        String FETCH_SIZE_EXPORTACAO = "1000";
 
         // Buscar pedidos por cliente e ordenar por data
         List<Pedido> findByClienteOrderByDataPedidoDesc(Cliente cliente);
@@ -44,15 +57,96 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
         // Buscar por número do pedido
         Optional<Pedido> findById(Long id);
 
+        // Consultas de leitura que montam a resposta sem carregar entidades
+        @Query(SELECT_RESPOSTA + "WHERE p.id = :id")
+        Optional<PedidoResponseDTO> findRespostaById(@Param("id") Long id);
+
+        @Query(SELECT_RESPOSTA + "WHERE p.cliente.id = :clienteId")
+        List<PedidoResponseDTO> findRespostaByClienteId(@Param("clienteId") Long clienteId);
+
+        // Histórico do cliente, do pedido mais recente para o mais antigo
+        @Query(value = SELECT_RESPOSTA + "WHERE p.cliente.id = :clienteId ORDER BY p.dataPedido DESC, p.id DESC",
+           countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.cliente.id = :clienteId")
+        Page<PedidoResponseDTO> findHistoricoByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+
+        @Query(SELECT_RESPOSTA + "WHERE p.restaurante.id = :restauranteId")
+        List<PedidoResponseDTO> findRespostaByRestauranteId(@Param("restauranteId") Long restauranteId);
+
+        @Query(SELECT_RESPOSTA + "WHERE p.restaurante.id = :restauranteId AND p.status = :status")
+        List<PedidoResponseDTO> findRespostaByRestauranteIdAndStatus(@Param("restauranteId") Long restauranteId,
+                @Param("status") StatusPedido status);
+
+        // Exportação: pedidos do período [inicio, fim) em ordem de data, lidos sob demanda enquanto o Stream é
+        // consumido. Deve ser consumido dentro de uma transação e fechado ao final
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO))
+        @Query(SELECT_RESPOSTA + "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim ORDER BY p.dataPedido, p.id")
+        Stream<PedidoResponseDTO> streamExportacao(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+        // Exportação de um status, em consulta própria: uma condição opcional (:status IS NULL OR ...)
+        // impediria o uso de idx_pedido_status_data
+        @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = FETCH_SIZE_EXPORTACAO))
+        @Query(SELECT_RESPOSTA + "WHERE p.status = :status AND p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "ORDER BY p.dataPedido, p.id")
+        Stream<PedidoResponseDTO> streamExportacaoPorStatus(@Param("status") StatusPedido status,
+                @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+        // Itens dos pedidos informados, na ordem em que foram incluídos
+        @Query("SELECT i.pedido.id AS pedidoId, i.produto.id AS produtoId, i.quantidade AS quantidade FROM ItemPedido i " +
+           "WHERE i.pedido.id IN :pedidoIds ORDER BY i.id")
+        List<ItemPedidoView> findItensByPedidoIdIn(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+        // Listagem paginada sem filtros
+        @Override
+        @EntityGraph(Pedido.GRAFO_LISTAGEM)
+        Page<Pedido> findAll(Pageable pageable);
+
         // Buscar pedidos por status usando paginação
+        @EntityGraph(Pedido.GRAFO_LISTAGEM)
         Page<Pedido> findByStatus(StatusPedido status, Pageable pageable);
 
         // Buscar pedidos por período
+        @EntityGraph(Pedido.GRAFO_LISTAGEM)
         Page<Pedido> findByDataPedidoBetweenOrderByDataPedidoDesc(LocalDateTime inicio, LocalDateTime fim, Pageable pageable);
 
         // Buscar pedidos por status e período
+        @EntityGraph(Pedido.GRAFO_LISTAGEM)
         Page<Pedido> findByStatusAndDataPedidoBetween(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim, Pageable pageable);
 
+        // Altera o status somente se o atual for um dos predecessores permitidos (compare-and-set)
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Pedido p SET p.status = :novoStatus WHERE p.id = :id AND p.status IN :predecessores")
+        int atualizarStatus(@Param("id") Long id, @Param("novoStatus") StatusPedido novoStatus,
+                @Param("predecessores") Collection<StatusPedido> predecessores);
+
+        // Status atual sem carregar o pedido
+        @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+        Optional<StatusPedido> findStatusById(@Param("id") Long id);
+
+        // Status dos pedidos informados que pertencem ao restaurante, com as linhas bloqueadas até o fim da
+        // transação (SELECT ... FOR UPDATE). Em ordem de id, para que lotes simultâneos bloqueiem na mesma ordem
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p.id AS id, p.status AS status FROM Pedido p WHERE p.id IN :ids AND p.restaurante.id = :restauranteId " +
+           "ORDER BY p.id")
+        List<PedidoStatusView> bloquearStatusEmLote(@Param("ids") Collection<Long> ids,
+                @Param("restauranteId") Long restauranteId);
+
+        // Versão em lote do compare-and-set de status, restrita aos pedidos do restaurante
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Pedido p SET p.status = :novoStatus WHERE p.id IN :ids AND p.restaurante.id = :restauranteId " +
+           "AND p.status IN :predecessores")
+        int atualizarStatusEmLote(@Param("ids") Collection<Long> ids, @Param("restauranteId") Long restauranteId,
+                @Param("novoStatus") StatusPedido novoStatus,
+                @Param("predecessores") Collection<StatusPedido> predecessores);
+
+        // Quantidade de cada produto nos pedidos informados, para devolver ao estoque
+        @Query("SELECT i.produto.id AS produtoId, SUM(i.quantidade) AS quantidade FROM ItemPedido i " +
+           "WHERE i.pedido.id IN :pedidoIds GROUP BY i.produto.id")
+        List<QuantidadeProdutoView> somarQuantidadesPorProduto(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+        // Restaurante e cliente dos pedidos informados
+        @Query("SELECT p.id AS id, p.restaurante.id AS restauranteId, p.cliente.id AS clienteId FROM Pedido p WHERE p.id IN :ids")
+        List<PedidoDestinatariosView> findDestinatariosByIdIn(@Param("ids") Collection<Long> ids);
+
         // Queries para os Relatórios
         // Relatório - Total de vendas por restaurante
         @Query("SELECT new com.deliverytech.delivery_api.dto.VendasRestauranteDTO(r.nome, COUNT(p), SUM(p.valorTotal)) " +
@@ -0,0 +1,54 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import jakarta.persistence.criteria.Predicate;
+
+// Filtros da listagem de pedidos montados apenas com os critérios informados
+public final class PedidoSpecifications {
+
+    // Ordem estável usada pela paginação por cursor: data do pedido e id como desempate
+    public static final Sort ORDEM_CURSOR = Sort.by(Sort.Order.desc("dataPedido"), Sort.Order.desc("id"));
+
+    // Associações carregadas junto com os pedidos nas listagens (mesmo plano de Pedido.GRAFO_LISTAGEM)
+    public static final List<String> GRAFO_LISTAGEM = List.of("cliente", "restaurante");
+
+    private PedidoSpecifications() {
+    }
+
+    public static Specification<Pedido> listagem(StatusPedido status, LocalDateTime inicio, LocalDateTime fim) {
+        return (root, query, cb) -> {
+            List<Predicate> filtros = new ArrayList<>();
+            if (status != null) {
+                filtros.add(cb.equal(root.get("status"), status));
+            }
+            if (inicio != null) {
+                filtros.add(cb.greaterThanOrEqualTo(root.get("dataPedido"), inicio));
+            }
+            if (fim != null) {
+                filtros.add(cb.lessThanOrEqualTo(root.get("dataPedido"), fim));
+            }
+            return cb.and(filtros.toArray(new Predicate[0]));
+        };
+    }
+
+    // Pedidos que vêm depois da posição (dataPedido, id) na ORDEM_CURSOR; sem posição, a partir do início
+    public static Specification<Pedido> listagemPorCursor(StatusPedido status, LocalDateTime inicio, LocalDateTime fim,
+                                                           LocalDateTime dataCursor, Long idCursor) {
+        Specification<Pedido> listagem = listagem(status, inicio, fim);
+        if (dataCursor == null) {
+            return listagem;
+        }
+        return listagem.and((root, query, cb) -> cb.or(
+            cb.lessThan(root.get("dataPedido"), dataCursor),
+            cb.and(cb.equal(root.get("dataPedido"), dataCursor), cb.lessThan(root.get("id"), idCursor))));
+    }
+}
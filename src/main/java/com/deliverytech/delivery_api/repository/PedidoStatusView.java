@@ -0,0 +1,11 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+// Projeção com apenas id e status, para operações que não precisam do pedido completo
+public interface PedidoStatusView {
+
+    Long getId();
+
+    StatusPedido getStatus();
+}
@@ -1,24 +1,33 @@
 package com.deliverytech.delivery_api.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
+        // Colunas de ProdutoResponseDTO, para as listagens que não precisam das entidades
+        String SELECT_RESPOSTA = "SELECT new com.deliverytech.delivery_api.dto.ProdutoResponseDTO(p.id, p.nome, p.descricao, " +
+                        "p.preco, p.categoria, p.restaurante.id, p.disponivel, p.versao) FROM Produto p ";
+
         // Buscar produtos por restaurante
         List<Produto> findByRestauranteAndDisponivelTrue(Restaurante restaurante);
 
         // Buscar produtos por restaurante ID
-        List<Produto> findByRestauranteIdAndDisponivelTrue(Long restauranteId);
+        // Filtra pela chave estrangeira: a consulta derivada compararia o id do restaurante após um LEFT JOIN, sem usar índice
+        @Query("SELECT p FROM Produto p WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
+        List<Produto> findByRestauranteIdAndDisponivelTrue(@Param("restauranteId") Long restauranteId);
 
         // Buscar por categoria
         List<Produto> findByCategoriaAndDisponivelTrue(String categoria);
@@ -26,6 +35,24 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
         // Buscar por nome contendo
         List<Produto> findByNomeContainingIgnoreCaseAndDisponivelTrue(String nome);
 
+        // Versões das buscas acima que trazem apenas as colunas da resposta
+        @Query(SELECT_RESPOSTA + "WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
+        List<ProdutoResponseDTO> findRespostaByRestauranteId(@Param("restauranteId") Long restauranteId);
+
+        // Versão de um produto e versões do cardápio de um restaurante, sem carregar as entidades
+        @Query("SELECT p.versao FROM Produto p WHERE p.id = :id")
+        Optional<Long> findVersaoById(@Param("id") Long id);
+
+        @Query("SELECT p.id AS id, p.versao AS versao FROM Produto p " +
+                        "WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
+        List<VersaoView> findVersoesByRestauranteId(@Param("restauranteId") Long restauranteId);
+
+        @Query(SELECT_RESPOSTA + "WHERE p.categoria = :categoria AND p.disponivel = true")
+        List<ProdutoResponseDTO> findRespostaByCategoria(@Param("categoria") String categoria);
+
+        @Query(SELECT_RESPOSTA + "WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%')) AND p.disponivel = true")
+        List<ProdutoResponseDTO> findRespostaByNome(@Param("nome") String nome);
+
         // Buscar por faixa de preço
         List<Produto> findByPrecoBetweenAndDisponivelTrue(BigDecimal precoMin, BigDecimal precoMax);
 
@@ -38,11 +65,11 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
         List<Produto> findByDisponivelTrueOrderByPrecoDesc();
 
         // Query customizada - produtos mais vendidos
-        @Query(value = "SELECT p.nome, COUNT(ip.produto_id) as quan􀆟dade_vendida " +
+        @Query(value = "SELECT p.nome, COUNT(ip.produto_id) as quantidade_vendida " +
                         "FROM produto p " +
                         "LEFT JOIN item_pedido ip ON p.id = ip.produto_id " +
                         "GROUP BY p.id, p.nome " +
-                        "ORDER BY quan􀆟dade_vendida DESC " +
+                        "ORDER BY quantidade_vendida DESC " +
                         "LIMIT 5", nativeQuery = true)
         List<Object[]> findProdutosMaisVendidos();
 
@@ -52,6 +79,12 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
         List<Produto> findByRestauranteAndCategoria(@Param("restauranteId") Long restauranteId,
                         @Param("categoria") String categoria);
 
+        // Produtos disponíveis de um restaurante ativo, já com o restaurante, em uma única consulta
+        @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante r WHERE p.id IN :ids AND p.disponivel = true " +
+                        "AND r.id = :restauranteId AND r.ativo = true")
+        List<Produto> findDisponiveisComRestaurante(@Param("ids") Collection<Long> ids,
+                        @Param("restauranteId") Long restauranteId);
+
         // Contar produtos por restaurante
         @Query("SELECT COUNT(p) FROM Produto p WHERE p.restaurante.id = :restauranteId AND p.disponivel = true")
         Long countByRestauranteId(@Param("restauranteId") Long restauranteId);
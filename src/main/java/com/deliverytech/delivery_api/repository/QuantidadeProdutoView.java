@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository;
+
+// Projeção com a quantidade total de um produto em um conjunto de pedidos
+public interface QuantidadeProdutoView {
+
+    Long getProdutoId();
+
+    Long getQuantidade();
+}
@@ -5,14 +5,16 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
 import com.deliverytech.delivery_api.model.Restaurante;
 
 @Repository
-public interface RestauranteRepository extends JpaRepository<Restaurante, Long> {
+public interface RestauranteRepository extends JpaRepository<Restaurante, Long>, JpaSpecificationExecutor<Restaurante> {
 
     // Buscar por ID
     Optional<Restaurante> findById(Long id);
@@ -23,6 +25,19 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     // Buscar restaurantes ativos
     List<Restaurante> findByAtivoTrue();
 
+    // Restaurantes ativos com apenas as colunas da resposta, sem carregar as entidades
+    @Query("SELECT new com.deliverytech.delivery_api.dto.RestauranteResponseDTO(r.id, r.nome, r.categoria, r.endereco, " +
+        "r.telefone, r.taxaEntrega, r.ativo, r.avaliacao, r.versao) FROM Restaurante r WHERE r.ativo = true")
+    List<RestauranteResponseDTO> findRespostaByAtivoTrue();
+
+    // Versão de um restaurante, sem carregar a entidade
+    @Query("SELECT r.versao FROM Restaurante r WHERE r.id = :id")
+    Optional<Long> findVersaoById(@Param("id") Long id);
+
+    // Cresce a cada restaurante cadastrado ou alterado (não há remoção): versão de toda a listagem
+    @Query("SELECT COUNT(r) + COALESCE(SUM(r.versao), 0) FROM Restaurante r")
+    long versaoListagem();
+
     // Buscar restaurantes por categoria
     List<Restaurante> findByCategoria(String categoria);
 
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.deliverytech.delivery_api.model.Restaurante;
+
+import jakarta.persistence.criteria.Predicate;
+
+// Filtros da listagem de restaurantes montados apenas com os critérios informados.
+// As condições usam as colunas diretamente para aproveitar os índices declarados em Restaurante
+public final class RestauranteSpecifications {
+
+    // Campos aceitos na ordenação da listagem
+    public static final Set<String> CAMPOS_ORDENACAO = Set.of("id", "nome", "categoria", "avaliacao", "taxaEntrega", "tempoEntrega");
+
+    // Desempate para que a mesma página traga sempre os mesmos restaurantes
+    public static final Sort DESEMPATE = Sort.by("id");
+
+    private RestauranteSpecifications() {
+    }
+
+    // A comparação de categoria segue a collation da coluna (sem diferenciar maiúsculas no MySQL);
+    // aplicar lower() na coluna impediria o uso do índice
+    public static Specification<Restaurante> listagem(String categoria, Boolean ativo, BigDecimal taxaEntregaMin,
+                                                      BigDecimal taxaEntregaMax, BigDecimal avaliacaoMin) {
+        return (root, query, cb) -> {
+            List<Predicate> filtros = new ArrayList<>();
+            if (categoria != null) {
+                filtros.add(cb.equal(root.get("categoria"), categoria));
+            }
+            if (ativo != null) {
+                filtros.add(cb.equal(root.get("ativo"), ativo));
+            }
+            if (taxaEntregaMin != null) {
+                filtros.add(cb.greaterThanOrEqualTo(root.get("taxaEntrega"), taxaEntregaMin));
+            }
+            if (taxaEntregaMax != null) {
+                filtros.add(cb.lessThanOrEqualTo(root.get("taxaEntrega"), taxaEntregaMax));
+            }
+            if (avaliacaoMin != null) {
+                filtros.add(cb.greaterThanOrEqualTo(root.get("avaliacao"), avaliacaoMin));
+            }
+            return cb.and(filtros.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.deliverytech.delivery_api.repository;
+
+// Projeção com o id e a versão de uma entidade do catálogo
+public interface VersaoView {
+
+    Long getId();
+
+    Long getVersao();
+}
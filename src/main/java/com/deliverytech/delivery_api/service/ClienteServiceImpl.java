@@ -2,9 +2,7 @@ package com.deliverytech.delivery_api.service;
 
 import java.util.List;
 //import java.util.Optional;
-import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,7 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.deliverytech.delivery_api.dto.ClienteDTO;
 import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
 import com.deliverytech.delivery_api.exception.BusinessException;
-//import com.deliverytech.delivery_api.mapper.ClienteMapper;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
@@ -26,7 +24,7 @@ public class ClienteServiceImpl implements ClienteService {
     private ClienteRepository clienteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
 
     // Cadastrar novo cliente
     @Override
@@ -37,11 +35,11 @@ public class ClienteServiceImpl implements ClienteService {
         }
 
         // Converter DTO para entidade
-        Cliente cliente = modelMapper.map(clienteDTO, Cliente.class);
+        Cliente cliente = clienteMapper.toEntity(clienteDTO);
         cliente.setAtivo(true);
 
         Cliente novoCliente = clienteRepository.save(cliente);
-        return modelMapper.map(novoCliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(novoCliente);
     }
 
     // Buscar cliente por ID
@@ -51,7 +49,7 @@ public class ClienteServiceImpl implements ClienteService {
         Cliente cliente = clienteRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com ID: " + id));
         
-        return modelMapper.map(cliente, ClienteResponseDTO.class); 
+        return clienteMapper.toResponseDTO(cliente); 
     }
 
     // Buscar cliente por email
@@ -61,7 +59,7 @@ public class ClienteServiceImpl implements ClienteService {
         Cliente cliente = clienteRepository.findByEmail(email)
             .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com email: " + email));
         
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(cliente);
     }
 
     // Atualizar dados do cliente
@@ -84,7 +82,7 @@ public class ClienteServiceImpl implements ClienteService {
         clienteExistente.setEndereco(clienteDTO.getEndereco());
         
         Cliente clienteAtualizado = clienteRepository.save(clienteExistente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(clienteAtualizado);
     }
 
     // Ativar e Desativar cliente
@@ -95,7 +93,7 @@ public class ClienteServiceImpl implements ClienteService {
         clienteExistente.setAtivo(!clienteExistente.isAtivo());
 
         Cliente clienteAtualizado = clienteRepository.save(clienteExistente);
-        return modelMapper.map(clienteAtualizado, ClienteResponseDTO.class);
+        return clienteMapper.toResponseDTO(clienteAtualizado);
         
     }
 
@@ -103,11 +101,7 @@ public class ClienteServiceImpl implements ClienteService {
     @Override
     @Transactional(readOnly = true)
     public List<ClienteResponseDTO> listarClientesAtivos() {
-        List<Cliente> clientesAtivos = clienteRepository.findByAtivoTrue();
-        
-        return clientesAtivos.stream()
-            .map(cliente -> modelMapper.map(cliente, ClienteResponseDTO.class))
-            .collect(Collectors.toList());
+        return clienteRepository.findRespostaByAtivoTrue();
     }
 
 }
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Totais aproximados para listagens paginadas sem COUNT: cada total é calculado uma vez e,
+// depois de vencido, recalculado em segundo plano enquanto o valor anterior continua sendo usado
+@Service
+public class ContagemAproximadaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContagemAproximadaService.class);
+
+    private final long validade;
+    private final Map<String, Contagem> contagens;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "contagem-aproximada");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContagemAproximadaService(@Value("${paginacao.total-aproximado.validade:60000}") long validade,
+                                     @Value("${paginacao.total-aproximado.max-chaves:1000}") int maxChaves) {
+        this.validade = validade;
+        this.contagens = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Contagem> eldest) {
+                return size() > maxChaves;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void parar() {
+        executor.shutdownNow();
+    }
+
+    // A chave deve identificar a listagem e os filtros aplicados
+    public long obter(String chave, LongSupplier contar) {
+        Contagem contagem = contagens.get(chave);
+        if (contagem == null) {
+            long total = contar.getAsLong();
+            contagens.put(chave, new Contagem(total, System.currentTimeMillis()));
+            return total;
+        }
+
+        if (System.currentTimeMillis() - contagem.calculadoEm > validade && contagem.atualizando.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    contagens.put(chave, new Contagem(contar.getAsLong(), System.currentTimeMillis()));
+                } catch (RuntimeException e) {
+                    logger.warn("Falha ao atualizar total aproximado de {}", chave, e);
+                    contagem.atualizando.set(false);
+                }
+            });
+        }
+        return contagem.total;
+    }
+
+    private static class Contagem {
+        private final long total;
+        private final long calculadoEm;
+        private final AtomicBoolean atualizando = new AtomicBoolean();
+
+        Contagem(long total, long calculadoEm) {
+            this.total = total;
+            this.calculadoEm = calculadoEm;
+        }
+    }
+}
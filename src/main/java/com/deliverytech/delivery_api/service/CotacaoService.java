@@ -0,0 +1,125 @@
+package com.deliverytech.delivery_api.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Cotações de preço assinadas (HMAC-SHA256) emitidas por /api/pedidos/calcular.
+// Uma cotação válida permite que criarPedido use os preços cotados sem reler cada produto
+@Service
+public class CotacaoService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec chave;
+    private final long validade;
+    private final Clock relogio;
+
+    // A chave das cotações é própria: quem a obtiver não pode assinar tokens de autenticação, nem o contrário
+    @Autowired
+    public CotacaoService(ObjectMapper objectMapper,
+                          @Value("${pedido.cotacao.secret}") String secret,
+                          @Value("${pedido.cotacao.validade:600000}") long validade,
+                          @Value("${jwt.secret}") String jwtSecret) {
+        this(objectMapper, secret, validade, Clock.systemUTC());
+        if (secret.equals(jwtSecret)) {
+            throw new IllegalStateException("pedido.cotacao.secret deve ser diferente de jwt.secret");
+        }
+    }
+
+    public CotacaoService(ObjectMapper objectMapper, String secret, long validade, Clock relogio) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("pedido.cotacao.secret não configurado");
+        }
+        this.objectMapper = objectMapper;
+        this.chave = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITMO);
+        this.validade = validade;
+        this.relogio = relogio;
+    }
+
+    // Gera o token "conteudo.assinatura", ambos em Base64 URL-safe
+    public String emitir(Long restauranteId, BigDecimal taxaEntrega, Map<Long, BigDecimal> precos) {
+        Cotacao cotacao = new Cotacao(restauranteId, taxaEntrega, precos, relogio.millis() + validade);
+        byte[] conteudo = serializar(cotacao);
+        return codificar(conteudo) + "." + codificar(assinar(conteudo));
+    }
+
+    // Retorna a cotação apenas se a assinatura conferir e ela ainda estiver no prazo
+    public Optional<Cotacao> validar(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String[] partes = token.split("\\.");
+        if (partes.length != 2) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] conteudo = Base64.getUrlDecoder().decode(partes[0]);
+            byte[] assinatura = Base64.getUrlDecoder().decode(partes[1]);
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+                return Optional.empty();
+            }
+
+            Cotacao cotacao = objectMapper.readValue(conteudo, Cotacao.class);
+            return cotacao.getExpiraEm() > relogio.millis() ? Optional.of(cotacao) : Optional.empty();
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] assinar(byte[] conteudo) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(conteudo);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] serializar(Cotacao cotacao) {
+        try {
+            return objectMapper.writeValueAsBytes(cotacao);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar cotação", e);
+        }
+    }
+
+    private String codificar(byte[] valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cotacao {
+        private Long restauranteId;
+        private BigDecimal taxaEntrega;
+        private Map<Long, BigDecimal> precos;
+        private long expiraEm;
+    }
+}
@@ -0,0 +1,255 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.deliverytech.delivery_api.transacao.AposCommit;
+
+import jakarta.annotation.PreDestroy;
+
+// Estoque dos produtos mantido em memória: reservas e devoluções alteram contadores atômicos
+// e as diferenças acumuladas são gravadas periodicamente na tabela produto, em lote.
+// Produtos com estoque nulo não têm controle de estoque. Depois da inclusão do produto, a coluna estoque
+// só é escrita por este serviço (a entidade não a atualiza), para que nenhuma gravação do cadastro
+// sobrescreva as diferenças já gravadas.
+//
+// Os saldos valem para uma única instância da aplicação: cada instância carrega o estoque da tabela e
+// reserva sobre a sua cópia, então com várias instâncias cada uma venderia o estoque inteiro. Enquanto a
+// reserva não for compartilhada (ex.: no Redis), pedidos com controle de estoque exigem uma só instância
+@Service
+public class EstoqueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstoqueService.class);
+
+    private static final String SQL_CARREGAR = "SELECT id, estoque FROM produto WHERE estoque IS NOT NULL";
+    private static final String SQL_GRAVAR = "UPDATE produto SET estoque = estoque + ? WHERE id = ?";
+    private static final String SQL_DEFINIR = "UPDATE produto SET estoque = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MetricsService metricsService;
+    private final long intervaloGravacao;
+
+    // Saldo disponível por produto
+    private final Map<Long, AtomicLong> saldos = new ConcurrentHashMap<>();
+
+    // Diferenças ainda não gravadas no banco; LongAdder evita disputa entre pedidos do mesmo produto
+    private final Map<Long, LongAdder> pendentes = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public EstoqueService(JdbcTemplate jdbcTemplate, MetricsService metricsService,
+                          @Value("${estoque.gravacao.intervalo:1000}") long intervaloGravacao) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metricsService = metricsService;
+        this.intervaloGravacao = intervaloGravacao;
+    }
+
+    // Carrega os saldos gravados e inicia a gravação periódica
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconciliar();
+
+        executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "estoque-gravacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::gravarPendentes, intervaloGravacao, intervaloGravacao, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        gravarPendentes();
+    }
+
+    // Substitui os saldos em memória pelos valores da tabela produto
+    public synchronized void reconciliar() {
+        saldos.clear();
+        pendentes.clear();
+        for (Map<String, Object> linha : jdbcTemplate.queryForList(SQL_CARREGAR)) {
+            Long produtoId = ((Number) linha.get("id")).longValue();
+            saldos.put(produtoId, new AtomicLong(((Number) linha.get("estoque")).longValue()));
+        }
+        logger.info("Estoque carregado para {} produtos", saldos.size());
+        atualizarMetrica();
+    }
+
+    // Reserva todos os itens ou nenhum. Com transação ativa, a reserva é desfeita se ela não for confirmada
+    public Reserva reservar(Map<Long, Long> quantidades) {
+        // Ordem fixa de produtos para que duas reservas concorrentes não se desfaçam mutuamente sem necessidade
+        Map<Long, Long> reservadas = new TreeMap<>();
+        for (Map.Entry<Long, Long> item : new TreeMap<>(quantidades).entrySet()) {
+            AtomicLong saldo = saldos.get(item.getKey());
+            if (saldo == null) {
+                continue;
+            }
+            if (!debitar(saldo, item.getValue())) {
+                reservadas.forEach(this::creditar);
+                throw new ConflictException("Produto sem estoque suficiente: " + item.getKey(), "produtoId", item.getKey());
+            }
+            registrarPendente(item.getKey(), -item.getValue());
+            reservadas.put(item.getKey(), item.getValue());
+        }
+
+        Reserva reserva = new Reserva(reservadas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reserva.liberar();
+                    }
+                }
+            });
+        }
+        return reserva;
+    }
+
+    // Devolve ao estoque os itens de pedidos cancelados, somente depois que o cancelamento for confirmado
+    public void devolverAposCommit(Map<Long, Long> quantidades) {
+        AposCommit.executar(() -> quantidades.forEach(this::creditar));
+    }
+
+    // Passa a controlar o saldo de um produto recém-incluído, que já foi gravado com ele; nulo não tem controle
+    public void incluirAposCommit(Long produtoId, Integer quantidade) {
+        if (quantidade != null) {
+            AposCommit.executar(() -> incluir(produtoId, quantidade));
+        }
+    }
+
+    // Define o saldo de um produto a partir do cadastro; deve ser chamado na transação da alteração.
+    // Com controle de estoque, a mudança entra como diferença sobre o saldo em memória e é gravada com as
+    // demais: reservas feitas antes dela são absorvidas e as seguintes continuam valendo, sem que uma
+    // gravação em andamento se perca. Sem controle a coluna é nula e não soma diferenças: o saldo inicial
+    // é gravado na própria transação
+    public void definir(Long produtoId, int quantidade) {
+        if (saldos.containsKey(produtoId)) {
+            AposCommit.executar(() -> ajustar(produtoId, quantidade));
+        } else {
+            jdbcTemplate.update(SQL_DEFINIR, quantidade, produtoId);
+            AposCommit.executar(() -> incluir(produtoId, quantidade));
+        }
+    }
+
+    // Deixa de controlar o saldo de um produto removido, descartando as diferenças ainda não gravadas
+    public void removerAposCommit(Long produtoId) {
+        AposCommit.executar(() -> remover(produtoId));
+    }
+
+    public Long consultarSaldo(Long produtoId) {
+        AtomicLong saldo = saldos.get(produtoId);
+        return saldo == null ? null : saldo.get();
+    }
+
+    // Grava as diferenças acumuladas em um único lote JDBC
+    public synchronized void gravarPendentes() {
+        List<Object[]> lote = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> pendente : pendentes.entrySet()) {
+            long diferenca = pendente.getValue().sumThenReset();
+            if (diferenca != 0) {
+                lote.add(new Object[] { diferenca, pendente.getKey() });
+            }
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_GRAVAR, lote);
+        } catch (RuntimeException e) {
+            // Mantém as diferenças para a próxima gravação
+            logger.error("Falha ao gravar estoque de {} produtos", lote.size(), e);
+            lote.forEach(linha -> registrarPendente((Long) linha[1], (Long) linha[0]));
+        }
+        atualizarMetrica();
+    }
+
+    private synchronized void incluir(Long produtoId, long quantidade) {
+        pendentes.remove(produtoId);
+        saldos.put(produtoId, new AtomicLong(quantidade));
+        atualizarMetrica();
+    }
+
+    // Sincronizado com gravarPendentes: a diferença é registrada antes da próxima gravação
+    private synchronized void ajustar(Long produtoId, long quantidade) {
+        AtomicLong saldo = saldos.get(produtoId);
+        if (saldo == null) {
+            return;
+        }
+        registrarPendente(produtoId, quantidade - saldo.getAndSet(quantidade));
+        atualizarMetrica();
+    }
+
+    private synchronized void remover(Long produtoId) {
+        saldos.remove(produtoId);
+        pendentes.remove(produtoId);
+        atualizarMetrica();
+    }
+
+    private boolean debitar(AtomicLong saldo, long quantidade) {
+        long atual;
+        do {
+            atual = saldo.get();
+            if (atual < quantidade) {
+                return false;
+            }
+        } while (!saldo.compareAndSet(atual, atual - quantidade));
+        return true;
+    }
+
+    private void creditar(Long produtoId, Long quantidade) {
+        AtomicLong saldo = saldos.get(produtoId);
+        if (saldo != null) {
+            saldo.addAndGet(quantidade);
+            registrarPendente(produtoId, quantidade);
+        }
+    }
+
+    private void registrarPendente(Long produtoId, long diferenca) {
+        pendentes.computeIfAbsent(produtoId, id -> new LongAdder()).add(diferenca);
+    }
+
+    private void atualizarMetrica() {
+        metricsService.setProdutosEmEstoque(saldos.values().stream().mapToLong(AtomicLong::get).sum());
+    }
+
+    // Itens reservados para um pedido; liberar mais de uma vez não devolve o estoque em dobro
+    public class Reserva {
+        private final Map<Long, Long> quantidades;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private Reserva(Map<Long, Long> quantidades) {
+            this.quantidades = quantidades;
+        }
+
+        public void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                quantidades.forEach(EstoqueService.this::creditar);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.service;
 
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -20,14 +22,18 @@ public class MetricsService {
     private final Counter pedidosComSucesso;
     private final Counter pedidosComErro;
     private final Counter receitaTotal;
+    private final Counter pedidosRecusadosFilaCheia;
+    private final Counter eventosPedidoDescartados;
 
     // Timers
     private final Timer tempoProcessamentoPedido;
     private final Timer tempoConsultaBanco;
+    private final Timer tempoDrenagemFilaPedidos;
+    private final Timer tempoEsperaFilaPedidos;
 
     // Gauges
     private final AtomicInteger usuariosAtivos = new AtomicInteger(0);
-    private final AtomicLong produtosEmEstoque = new AtomicLong(1000);
+    private final AtomicLong produtosEmEstoque = new AtomicLong(0);
 
 
     public MetricsService(MeterRegistry meterRegistry) {
@@ -51,6 +57,14 @@ public class MetricsService {
             .baseUnit("centavos")
             .register(meterRegistry);
 
+        this.eventosPedidoDescartados = Counter.builder("delivery.pedidos.eventos.descartados")
+            .description("Eventos de pedido descartados por assinantes SSE lentos")
+            .register(meterRegistry);
+
+        this.pedidosRecusadosFilaCheia = Counter.builder("delivery.pedidos.fila.recusados")
+            .description("Pedidos recusados (429) por fila de recebimento cheia")
+            .register(meterRegistry);
+
         // Inicializar timers
         this.tempoProcessamentoPedido = Timer.builder("delivery.pedido.processamento.tempo")
             .description("Tempo gasto no processamento de pedidos")
@@ -60,6 +74,14 @@ public class MetricsService {
             .description("Tempo gasto em consultas ao banco de dados")
             .register(meterRegistry);
 
+        this.tempoDrenagemFilaPedidos = Timer.builder("delivery.pedidos.fila.drenagem.tempo")
+            .description("Tempo para gravar um lote de pedidos retirado da fila")
+            .register(meterRegistry);
+
+        this.tempoEsperaFilaPedidos = Timer.builder("delivery.pedidos.fila.espera.tempo")
+            .description("Tempo entre o recebimento do pedido e sua gravação")
+            .register(meterRegistry);
+
         // Inicializar gauges
         Gauge.builder("delivery.usuarios.ativos", usuariosAtivos, AtomicInteger::get)
             .description("Número de usuários ativos")
@@ -106,4 +128,26 @@ public class MetricsService {
         produtosEmEstoque.set(quantidade);
     }
 
+    // Métodos para a fila de recebimento assíncrono de pedidos
+    public void registrarFilaPedidos(Collection<?> fila) {
+        Gauge.builder("delivery.pedidos.fila.tamanho", fila, Collection::size)
+            .description("Pedidos aguardando gravação na fila de recebimento")
+            .register(meterRegistry);
+    }
+
+    public void registrarDrenagemFilaPedidos(long nanos) {
+        tempoDrenagemFilaPedidos.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void registrarEsperaFilaPedidos(long nanos) {
+        tempoEsperaFilaPedidos.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementarPedidosRecusadosFilaCheia() {
+        pedidosRecusadosFilaCheia.increment();
+    }
+
+    public void incrementarEventosPedidoDescartados() {
+        eventosPedidoDescartados.increment();
+    }
 }
@@ -0,0 +1,180 @@
+package com.deliverytech.delivery_api.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.dto.PedidoEventoDTO;
+
+import jakarta.annotation.PreDestroy;
+
+// Assinaturas de eventos de pedido por restaurante e por cliente (Server-Sent Events).
+// Cada assinante tem um buffer limitado: se ele não consumir a tempo, os eventos mais antigos são descartados
+@Service
+public class PedidoEventoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoEventoService.class);
+
+    private static final String NOME_EVENTO = "pedido";
+
+    private final MetricsService metricsService;
+    private final int tamanhoBuffer;
+    private final long timeout;
+
+    private final Map<Long, Set<Assinatura>> porRestaurante = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinatura>> porCliente = new ConcurrentHashMap<>();
+    private final AtomicInteger assinaturas = new AtomicInteger();
+
+    // O envio é feito fora da thread que publicou o evento, para que um assinante lento não atrase o commit
+    private final ExecutorService enviadores;
+
+    public PedidoEventoService(MetricsService metricsService,
+                               @Value("${pedido.eventos.buffer:100}") int tamanhoBuffer,
+                               @Value("${pedido.eventos.timeout:1800000}") long timeout,
+                               @Value("${pedido.eventos.enviadores:2}") int enviadores) {
+        this.metricsService = metricsService;
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.timeout = timeout;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.enviadores = Executors.newFixedThreadPool(enviadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "pedido-eventos-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void parar() {
+        enviadores.shutdownNow();
+        porRestaurante.values().forEach(assinantes -> assinantes.forEach(assinatura -> assinatura.emitter.complete()));
+        porCliente.values().forEach(assinantes -> assinantes.forEach(assinatura -> assinatura.emitter.complete()));
+    }
+
+    public SseEmitter assinarRestaurante(Long restauranteId) {
+        return assinarRestaurante(restauranteId, new SseEmitter(timeout));
+    }
+
+    public SseEmitter assinarCliente(Long clienteId) {
+        return assinarCliente(clienteId, new SseEmitter(timeout));
+    }
+
+    SseEmitter assinarRestaurante(Long restauranteId, SseEmitter emitter) {
+        return assinar(porRestaurante, restauranteId, emitter);
+    }
+
+    SseEmitter assinarCliente(Long clienteId, SseEmitter emitter) {
+        return assinar(porCliente, clienteId, emitter);
+    }
+
+    // Permite que quem publica evite montar eventos quando não há ninguém assinando
+    public boolean possuiAssinantes() {
+        return assinaturas.get() > 0;
+    }
+
+    // Recebe os eventos publicados pelo PedidoService somente após o commit da transação
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(PedidoEventoDTO evento) {
+        entregar(porRestaurante.get(evento.getRestauranteId()), evento);
+        entregar(porCliente.get(evento.getClienteId()), evento);
+    }
+
+    private SseEmitter assinar(Map<Long, Set<Assinatura>> registro, Long chave, SseEmitter emitter) {
+        Assinatura assinatura = new Assinatura(emitter, registro, chave);
+        registro.computeIfAbsent(chave, id -> ConcurrentHashMap.newKeySet()).add(assinatura);
+        assinaturas.incrementAndGet();
+
+        emitter.onCompletion(assinatura::remover);
+        emitter.onTimeout(assinatura::remover);
+        emitter.onError(erro -> assinatura.remover());
+        return emitter;
+    }
+
+    private void entregar(Set<Assinatura> assinantes, PedidoEventoDTO evento) {
+        if (assinantes == null) {
+            return;
+        }
+        for (Assinatura assinatura : assinantes) {
+            if (assinatura.enfileirar(evento)) {
+                enviadores.execute(assinatura::enviarPendentes);
+            }
+        }
+    }
+
+    private class Assinatura {
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Assinatura>> registro;
+        private final Long chave;
+        private final Deque<PedidoEventoDTO> buffer = new ArrayDeque<>();
+        private boolean enviando;
+
+        Assinatura(SseEmitter emitter, Map<Long, Set<Assinatura>> registro, Long chave) {
+            this.emitter = emitter;
+            this.registro = registro;
+            this.chave = chave;
+        }
+
+        void remover() {
+            registro.computeIfPresent(chave, (id, assinantes) -> {
+                if (assinantes.remove(this)) {
+                    assinaturas.decrementAndGet();
+                }
+                return assinantes.isEmpty() ? null : assinantes;
+            });
+        }
+
+        // Retorna true quando é preciso agendar o envio
+        synchronized boolean enfileirar(PedidoEventoDTO evento) {
+            if (buffer.size() >= tamanhoBuffer) {
+                buffer.pollFirst();
+                metricsService.incrementarEventosPedidoDescartados();
+            }
+            buffer.addLast(evento);
+            if (enviando) {
+                return false;
+            }
+            enviando = true;
+            return true;
+        }
+
+        synchronized PedidoEventoDTO proximo() {
+            PedidoEventoDTO evento = buffer.pollFirst();
+            if (evento == null) {
+                enviando = false;
+            }
+            return evento;
+        }
+
+        void enviarPendentes() {
+            PedidoEventoDTO evento;
+            while ((evento = proximo()) != null) {
+                try {
+                    emitter.send(SseEmitter.event()
+                        .name(NOME_EVENTO)
+                        .id(evento.getPedidoId() + ":" + evento.getStatus())
+                        .data(evento, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // Conexão encerrada pelo cliente: descarta a assinatura
+                    logger.debug("Falha ao enviar evento do pedido {}", evento.getPedidoId(), e);
+                    remover();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.deliverytech.delivery_api.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.dto.FormatoExportacao;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.exception.BadRequestException;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+// Exportação de pedidos de um período escrita diretamente na resposta: as linhas são lidas do banco por
+// cursor e gravadas uma a uma, sem montar a lista em memória. Como a consulta é uma projeção,
+// nenhuma entidade é carregada no contexto de persistência
+@Service
+public class PedidoExportacaoService {
+
+    // A cada quantas linhas o que já foi gerado é enviado ao cliente
+    static final int LINHAS_POR_ENVIO = 1000;
+
+    private static final String CABECALHO_CSV =
+        "id,clienteId,restauranteId,dataPedido,status,valorTotal,formaPagamento,cep,enderecoEntrega,observacoes";
+
+    private final PedidoRepository pedidoRepository;
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    public PedidoExportacaoService(PedidoRepository pedidoRepository) {
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    // Chamado antes de iniciar a resposta, enquanto ainda é possível responder 400
+    public void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio.isAfter(dataFim)) {
+            throw new BadRequestException("dataInicio deve ser anterior ou igual a dataFim");
+        }
+    }
+
+    // Escreve os pedidos do período e retorna a quantidade exportada
+    @Transactional(readOnly = true)
+    public long exportar(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, FormatoExportacao formato,
+                         OutputStream saida) throws IOException {
+        validarPeriodo(dataInicio, dataFim);
+        // Até o início do dia seguinte, exclusive: dataPedido tem frações de segundo
+        LocalDateTime inicio = dataInicio.atStartOfDay();
+        LocalDateTime fim = dataFim.plusDays(1).atStartOfDay();
+        try (Stream<PedidoResponseDTO> pedidos = status == null
+                ? pedidoRepository.streamExportacao(inicio, fim)
+                : pedidoRepository.streamExportacaoPorStatus(status, inicio, fim)) {
+            return formato == FormatoExportacao.CSV
+                ? escreverCsv(pedidos.iterator(), saida)
+                : escreverNdjson(pedidos.iterator(), saida);
+        }
+    }
+
+    private long escreverNdjson(Iterator<PedidoResponseDTO> pedidos, OutputStream saida) throws IOException {
+        long total = 0;
+        try (JsonGenerator gerador = jsonFactory.createGenerator(saida)) {
+            // Cada objeto termina com uma quebra de linha, em vez do espaço usado por padrão entre objetos
+            gerador.setRootValueSeparator(null);
+            while (pedidos.hasNext()) {
+                PedidoResponseDTO pedido = pedidos.next();
+                gerador.writeStartObject();
+                // Como na API, o id vai como texto: passa de 2^53 e perderia precisão em leitores JavaScript
+                gerador.writeStringField("id", texto(pedido.getId()));
+                escreverNumero(gerador, "clienteId", pedido.getClienteId());
+                escreverNumero(gerador, "restauranteId", pedido.getRestauranteId());
+                gerador.writeStringField("dataPedido", texto(pedido.getDataPedido()));
+                gerador.writeStringField("status", texto(pedido.getStatus()));
+                escreverNumero(gerador, "valorTotal", pedido.getValorTotal());
+                gerador.writeStringField("formaPagamento", pedido.getFormaPagamento());
+                gerador.writeStringField("cep", pedido.getCep());
+                gerador.writeStringField("enderecoEntrega", pedido.getEnderecoEntrega());
+                gerador.writeStringField("observacoes", pedido.getObservacoes());
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+                if (++total % LINHAS_POR_ENVIO == 1) {
+                    gerador.flush();
+                }
+            }
+        }
+        return total;
+    }
+
+    private long escreverCsv(Iterator<PedidoResponseDTO> pedidos, OutputStream saida) throws IOException {
+        long total = 0;
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+        while (pedidos.hasNext()) {
+            PedidoResponseDTO pedido = pedidos.next();
+            escritor.write(String.join(",",
+                campoCsv(pedido.getId()),
+                campoCsv(pedido.getClienteId()),
+                campoCsv(pedido.getRestauranteId()),
+                campoCsv(pedido.getDataPedido()),
+                campoCsv(pedido.getStatus()),
+                campoCsv(pedido.getValorTotal()),
+                campoCsv(pedido.getFormaPagamento()),
+                campoCsv(pedido.getCep()),
+                campoCsv(pedido.getEnderecoEntrega()),
+                campoCsv(pedido.getObservacoes())));
+            escritor.write('\n');
+            if (++total % LINHAS_POR_ENVIO == 1) {
+                escritor.flush();
+            }
+        }
+        escritor.flush();
+        return total;
+    }
+
+    private void escreverNumero(JsonGenerator gerador, String campo, Long valor) throws IOException {
+        if (valor == null) {
+            gerador.writeNullField(campo);
+        } else {
+            gerador.writeNumberField(campo, valor);
+        }
+    }
+
+    private void escreverNumero(JsonGenerator gerador, String campo, BigDecimal valor) throws IOException {
+        if (valor == null) {
+            gerador.writeNullField(campo);
+        } else {
+            gerador.writeNumberField(campo, valor);
+        }
+    }
+
+    private String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+
+    // Valores vão entre aspas quando contêm separador, aspas ou quebra de linha
+    private String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,190 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
+import com.deliverytech.delivery_api.exception.TooManyRequestsException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Recebimento assíncrono de pedidos: a requisição só valida e enfileira o pedido,
+// e um pequeno grupo de gravadores retira os pedidos da fila e grava em lotes
+@Service
+@ConditionalOnProperty(name = "pedido.intake.enabled", havingValue = "true")
+public class PedidoIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoIntakeService.class);
+
+    private static final long INTERVALO_CONSULTA_FILA = 200;
+    private static final long TEMPO_ENCERRAMENTO = 30;
+
+    private final PedidoService pedidoService;
+    private final MetricsService metricsService;
+    private final int gravadores;
+    private final int tamanhoLote;
+    private final long retryAfter;
+
+    private final BlockingQueue<Solicitacao> fila;
+
+    // Situação das solicitações recentes; as mais antigas são descartadas ao atingir o limite
+    private final Map<String, PedidoIntakeStatusDTO> situacoes;
+
+    private ExecutorService executor;
+    private volatile boolean ativo;
+
+    public PedidoIntakeService(PedidoService pedidoService, MetricsService metricsService,
+                               @Value("${pedido.intake.capacidade:1000}") int capacidade,
+                               @Value("${pedido.intake.gravadores:2}") int gravadores,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:20}") int tamanhoLote,
+                               @Value("${pedido.intake.retry-after:5}") long retryAfter,
+                               @Value("${pedido.intake.max-acompanhamentos:10000}") int maxAcompanhamentos) {
+        this.pedidoService = pedidoService;
+        this.metricsService = metricsService;
+        this.gravadores = gravadores;
+        this.tamanhoLote = tamanhoLote;
+        this.retryAfter = retryAfter;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.situacoes = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PedidoIntakeStatusDTO> eldest) {
+                return size() > maxAcompanhamentos;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        metricsService.registrarFilaPedidos(fila);
+
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(gravadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "pedido-intake-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ativo = true;
+        for (int i = 0; i < gravadores; i++) {
+            executor.submit(this::drenarFila);
+        }
+    }
+
+    // Para de aceitar pedidos e aguarda os gravadores esvaziarem a fila
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(TEMPO_ENCERRAMENTO, TimeUnit.SECONDS)) {
+                logger.warn("Encerrando com {} pedidos ainda na fila de recebimento", fila.size());
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    public PedidoIntakeStatusDTO receber(PedidoDTO pedidoDto) {
+        String trackingId = UUID.randomUUID().toString();
+        PedidoIntakeStatusDTO situacao = PedidoIntakeStatusDTO.naFila(trackingId);
+        atualizarSituacao(situacao);
+
+        if (!ativo || !fila.offer(new Solicitacao(trackingId, pedidoDto, System.nanoTime()))) {
+            removerSituacao(trackingId);
+            metricsService.incrementarPedidosRecusadosFilaCheia();
+            throw new TooManyRequestsException("Fila de pedidos cheia, tente novamente em instantes", retryAfter);
+        }
+
+        return situacao;
+    }
+
+    public synchronized Optional<PedidoIntakeStatusDTO> consultar(String trackingId) {
+        return Optional.ofNullable(situacoes.get(trackingId));
+    }
+
+    private void drenarFila() {
+        List<Solicitacao> lote = new ArrayList<>(tamanhoLote);
+
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Solicitacao primeira = fila.poll(INTERVALO_CONSULTA_FILA, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+
+                lote.add(primeira);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Erro inesperado ao gravar lote de pedidos", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravarLote(List<Solicitacao> lote) {
+        long inicio = System.nanoTime();
+        lote.forEach(solicitacao -> atualizarSituacao(
+            new PedidoIntakeStatusDTO(solicitacao.trackingId, PedidoIntakeStatusDTO.Situacao.PROCESSANDO, null, null)));
+
+        List<PedidoIntakeStatusDTO> resultados;
+        try {
+            resultados = pedidoService.criarPedidosEmLote(lote.stream().map(Solicitacao::pedidoDto).toList());
+        } catch (RuntimeException e) {
+            // Uma falha que não é de regra de negócio desfaz o lote inteiro: grava um a um para isolar o pedido com problema
+            logger.warn("Falha ao gravar lote de {} pedidos, gravando individualmente", lote.size(), e);
+            resultados = lote.stream().map(this::gravarIndividualmente).toList();
+        }
+
+        long fim = System.nanoTime();
+        for (int i = 0; i < lote.size(); i++) {
+            Solicitacao solicitacao = lote.get(i);
+            PedidoIntakeStatusDTO resultado = resultados.get(i);
+            resultado.setTrackingId(solicitacao.trackingId);
+            atualizarSituacao(resultado);
+            metricsService.registrarEsperaFilaPedidos(fim - solicitacao.recebidoEm);
+        }
+        metricsService.registrarDrenagemFilaPedidos(fim - inicio);
+    }
+
+    private PedidoIntakeStatusDTO gravarIndividualmente(Solicitacao solicitacao) {
+        try {
+            return pedidoService.criarPedidosEmLote(List.of(solicitacao.pedidoDto)).get(0);
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gravar pedido {}", solicitacao.trackingId, e);
+            return PedidoIntakeStatusDTO.rejeitado("Erro ao gravar pedido");
+        }
+    }
+
+    private synchronized void atualizarSituacao(PedidoIntakeStatusDTO situacao) {
+        situacoes.put(situacao.getTrackingId(), situacao);
+    }
+
+    private synchronized void removerSituacao(String trackingId) {
+        situacoes.remove(trackingId);
+    }
+
+    private record Solicitacao(String trackingId, PedidoDTO pedidoDto, long recebidoEm) {
+    }
+}
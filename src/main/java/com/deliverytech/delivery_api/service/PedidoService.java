@@ -7,27 +7,45 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.deliverytech.delivery_api.dto.CotacaoPedidoDTO;
 import com.deliverytech.delivery_api.dto.ItemPedidoDTO;
+import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
 import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ResultadoStatusPedidoDTO;
 import com.deliverytech.delivery_api.model.StatusPedido;
 
 public interface PedidoService {
 
     PedidoResponseDTO criarPedido(PedidoDTO dto);
 
+    List<PedidoIntakeStatusDTO> criarPedidosEmLote(List<PedidoDTO> dtos);
+
     Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable);
 
+    PagedResponseWrapper<PedidoResponseDTO> listarPedidosSemTotal(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                                  Pageable pageable, boolean totalAproximado);
+
+    PagedResponseWrapper<PedidoResponseDTO> listarPedidosPorCursor(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                                   String cursor, int tamanho);
+
     PedidoResponseDTO buscarPedidoPorId(Long id);
 
     List<PedidoResponseDTO> buscarPedidosPorCliente(Long clienteId);
 
+    Page<PedidoResponseDTO> listarHistoricoCliente(Long clienteId, Pageable pageable);
+
     List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status);
 
     PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido status);
 
+    List<ResultadoStatusPedidoDTO> atualizarStatusEmLote(Long restauranteId, List<Long> pedidoIds, StatusPedido status);
+
     BigDecimal calcularTotalPedido(List<ItemPedidoDTO> itens);
 
+    CotacaoPedidoDTO cotarPedido(Long restauranteId, List<ItemPedidoDTO> itens);
+
     void cancelarPedido(Long id);
     
 }
\ No newline at end of file
@@ -1,24 +1,48 @@
 package com.deliverytech.delivery_api.service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.delivery_api.dto.CotacaoPedidoDTO;
 import com.deliverytech.delivery_api.dto.ItemPedidoDTO;
+import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoEventoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
 import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ResultadoStatusPedidoDTO;
+import com.deliverytech.delivery_api.exception.BadRequestException;
 import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.exception.ConflictException;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.PedidoMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.model.ItemPedido;
 import com.deliverytech.delivery_api.model.Pedido;
@@ -26,14 +50,34 @@ import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.model.StatusPedido;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ItemPedidoView;
+import com.deliverytech.delivery_api.repository.PedidoDestinatariosView;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.PedidoSpecifications;
+import com.deliverytech.delivery_api.repository.PedidoStatusView;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.QuantidadeProdutoView;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
 
 @Service
 @Transactional
 public class PedidoServiceImpl implements PedidoService{
 
+    private static final String SEPARADOR_CURSOR = "|";
+
+    // Transições de status permitidas, indexadas pelo status de destino
+    private static final Map<StatusPedido, Set<StatusPedido>> PREDECESSORES = new EnumMap<>(StatusPedido.class);
+
+    static {
+        for (StatusPedido status : StatusPedido.values()) {
+            PREDECESSORES.put(status, EnumSet.noneOf(StatusPedido.class));
+        }
+        transicao(StatusPedido.PENDENTE, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO);
+        transicao(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.CANCELADO);
+        transicao(StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA);
+        transicao(StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE);
+    }
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
@@ -47,12 +91,77 @@ public class PedidoServiceImpl implements PedidoService{
     private ProdutoRepository produtoRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CotacaoService cotacaoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private PedidoEventoService pedidoEventoService;
+
+    @Autowired
+    private ContagemAproximadaService contagemAproximadaService;
+
+    @Autowired
+    private PedidosRecentesService pedidosRecentesService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PedidoMapper pedidoMapper;
 
     // Criar novo pedido
     @Override
     @Transactional
     public PedidoResponseDTO criarPedido(PedidoDTO pedidoDto) {
+        // Os ids são gerados em memória: pedido e itens são gravados juntos no flush, em lote
+        Pedido pedidoSalvo = pedidoRepository.save(montarPedido(pedidoDto));
+        publicarEvento(pedidoSalvo);
+        pedidosRecentesService.registrarAposCommit(resumir(pedidoSalvo));
+
+        // Retornar pedido criado
+        return pedidoMapper.toResponseDTO(pedidoSalvo);
+    }
+
+    // Criar vários pedidos em uma única transação (recebimento assíncrono).
+    // Pedidos inválidos são rejeitados individualmente sem afetar o restante do lote
+    @Override
+    @Transactional
+    public List<PedidoIntakeStatusDTO> criarPedidosEmLote(List<PedidoDTO> pedidosDto) {
+        List<PedidoIntakeStatusDTO> resultados = new ArrayList<>();
+
+        for (PedidoDTO pedidoDto : pedidosDto) {
+            try {
+                Pedido pedido = pedidoRepository.save(montarPedido(pedidoDto));
+                publicarEvento(pedido);
+                pedidosRecentesService.registrarAposCommit(resumir(pedido));
+                resultados.add(PedidoIntakeStatusDTO.criado(pedido.getId()));
+            } catch (BusinessException e) {
+                resultados.add(PedidoIntakeStatusDTO.rejeitado(e.getMessage()));
+            }
+        }
+
+        // Grava pedidos e itens de todo o lote de uma vez, em lotes JDBC (hibernate.jdbc.batch_size)
+        pedidoRepository.flush();
+        return resultados;
+    }
+
+    // Reserva o estoque antes de qualquer consulta: um produto esgotado é recusado sem acessar o banco.
+    // Se o pedido for rejeitado a reserva é desfeita na hora; se a transação falhar, ao final dela
+    private Pedido montarPedido(PedidoDTO pedidoDto) {
+        EstoqueService.Reserva reserva = estoqueService.reservar(pedidoDto.getItens().stream()
+            .collect(Collectors.groupingBy(ItemPedidoDTO::getProdutoId, Collectors.summingLong(ItemPedidoDTO::getQuantidade))));
+        try {
+            return validarPedido(pedidoDto);
+        } catch (RuntimeException e) {
+            reserva.liberar();
+            throw e;
+        }
+    }
+
+    // Valida o pedido e monta a entidade com os itens, sem gravar
+    private Pedido validarPedido(PedidoDTO pedidoDto) {
         // Validar se cliente existe e está ativo
         Cliente cliente = clienteRepository.findById(pedidoDto.getClienteId())
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado."));
@@ -61,37 +170,48 @@ public class PedidoServiceImpl implements PedidoService{
             throw new BusinessException("Cliente inativo, não pode fazer pedidos.");
         }
 
-        // Validar se restaurante existe e está ativo
-        Restaurante restaurante = restauranteRepository.findById(pedidoDto.getRestauranteId())
-                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado."));
+        // Com uma cotação válida de /calcular os preços e a taxa já foram conferidos: basta uma consulta
+        // que confirme a disponibilidade dos produtos e traga o restaurante junto
+        Optional<CotacaoService.Cotacao> cotacao = cotacaoService.validar(pedidoDto.getCotacao())
+            .filter(c -> cotacaoCobrePedido(c, pedidoDto));
+        Map<Long, Produto> produtos = cotacao.isPresent() ? carregarProdutosCotados(pedidoDto) : null;
 
-        if (!restaurante.isAtivo()) {
-            throw new BusinessException("Restaurante não está disponível");
+        Restaurante restaurante;
+        Map<Long, BigDecimal> precos;
+        BigDecimal taxaEntrega;
+
+        if (produtos != null) {
+            restaurante = produtos.values().iterator().next().getRestaurante();
+            precos = cotacao.get().getPrecos();
+            taxaEntrega = cotacao.get().getTaxaEntrega();
+        } else {
+            // Validar se restaurante existe e está ativo
+            restaurante = restauranteRepository.findById(pedidoDto.getRestauranteId())
+                    .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado."));
+
+            if (!restaurante.isAtivo()) {
+                throw new BusinessException("Restaurante não está disponível");
+            }
+
+            // Validar se todos os produtos existem e estão disponíveis
+            produtos = carregarProdutosDoPedido(pedidoDto.getRestauranteId(), pedidoDto.getItens());
+            precos = produtos.values().stream().collect(Collectors.toMap(Produto::getId, Produto::getPreco));
+            taxaEntrega = restaurante.getTaxaEntrega();
         }
 
-        // Validar se todos os produtos existem e estão disponíveis
         List<ItemPedido> itensPedido = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (ItemPedidoDTO itemDTO : pedidoDto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDTO.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + itemDTO.getProdutoId()));
-
-            if (!produto.isDisponivel()) {
-                throw new BusinessException("Produto indisponível: " + produto.getNome());
-            }
-
-            if (!produto.getRestaurante().getId().equals(pedidoDto.getRestauranteId())) {
-                throw new BusinessException("Produto não pertence ao restaurante selecionado.");
-            }
+            BigDecimal precoUnitario = precos.get(itemDTO.getProdutoId());
 
             // Criar item do pedido
             ItemPedido item = new ItemPedido();
-            item.setProduto(produto);
+            item.setProduto(produtos.get(itemDTO.getProdutoId()));
             item.setQuantidade(itemDTO.getQuantidade());
-            item.setPrecoUnitario(produto.getPreco());
+            item.setPrecoUnitario(precoUnitario);
 
-            item.setSubtotal(produto.getPreco().multiply(BigDecimal.valueOf(itemDTO.getQuantidade())));
+            item.setSubtotal(precoUnitario.multiply(BigDecimal.valueOf(itemDTO.getQuantidade())));
 
             itensPedido.add(item);
             subtotal = subtotal.add(item.getSubtotal());
@@ -99,7 +219,6 @@ public class PedidoServiceImpl implements PedidoService{
         }
 
         // Calcular total do pedido
-        BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
         BigDecimal valorTotal = subtotal.add(taxaEntrega);
 
         // Salvar Pedido
@@ -115,19 +234,12 @@ public class PedidoServiceImpl implements PedidoService{
         pedido.setValorTotal(valorTotal);
         pedido.setFormaPagamento(pedidoDto.getFormaPagamento());
 
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
-
-        // Salvar itens do pedido
         for (ItemPedido item : itensPedido) {
-            item.setPedido(pedidoSalvo);
+            item.setPedido(pedido);
         }
-        pedidoSalvo.setItens(itensPedido);
-
-        // 7. Atualizar estoque (se aplicável) - Simulação
-        // Em um cenário real, aqui seria decrementado o estoque
+        pedido.setItens(itensPedido);
 
-        // 8. Retornar pedido criado
-        return modelMapper.map(pedidoSalvo, PedidoResponseDTO.class);
+        return pedido;
     }
 
     public Page<PedidoResponseDTO> listarPedidos(StatusPedido status, LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
@@ -153,73 +265,234 @@ public class PedidoServiceImpl implements PedidoService{
         // Opção 4: Sem filtros (apenas Paginação)
         pedidos = pedidoRepository.findAll(pageable);
         }
-        return pedidos.map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class));
+        return pedidos.map(pedidoMapper::toResponseDTO);
+    }
+
+    // Listar pedidos sem COUNT: mesmos filtros da listagem paginada, buscando size+1 registros.
+    // O total aproximado, quando pedido, vem de uma contagem guardada e atualizada periodicamente
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponseWrapper<PedidoResponseDTO> listarPedidosSemTotal(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                                                         Pageable pageable, boolean totalAproximado) {
+        // Como na listagem paginada, o período só é aplicado quando as duas datas são informadas
+        boolean porPeriodo = dataInicio != null && dataFim != null;
+        Specification<Pedido> filtros = PedidoSpecifications.listagem(status,
+            porPeriodo ? dataInicio.atStartOfDay() : null, porPeriodo ? dataFim.atTime(23, 59, 59) : null);
+
+        Slice<Pedido> pedidos = pedidoRepository.findBy(filtros,
+            consulta -> consulta.project(PedidoSpecifications.GRAFO_LISTAGEM).slice(pageable));
+
+        Long total = null;
+        if (totalAproximado) {
+            total = contagemAproximadaService.obter("pedidos:" + status + ":" + (porPeriodo ? dataInicio + ":" + dataFim : ""),
+                () -> pedidoRepository.count(filtros));
+        }
+
+        return new PagedResponseWrapper<>(pedidos.map(pedidoMapper::toResponseDTO), total);
+    }
+
+    // Listar pedidos por cursor: busca a partir da última posição (dataPedido, id) já vista,
+    // sem COUNT e sem OFFSET, então o custo de cada página não depende da profundidade
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponseWrapper<PedidoResponseDTO> listarPedidosPorCursor(StatusPedido status, LocalDate dataInicio,
+                                                                          LocalDate dataFim, String cursor, int tamanho) {
+        LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : null;
+        LocalDateTime fim = dataFim != null ? dataFim.atTime(23, 59, 59) : null;
+
+        LocalDateTime dataCursor = null;
+        Long idCursor = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(SEPARADOR_CURSOR), 2);
+                dataCursor = LocalDateTime.parse(posicao[0]);
+                idCursor = Long.valueOf(posicao[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new BadRequestException("Cursor de paginação inválido");
+            }
+        }
+
+        // Um registro a mais indica se existe próxima página
+        List<Pedido> pedidos = pedidoRepository.findBy(
+            PedidoSpecifications.listagemPorCursor(status, inicio, fim, dataCursor, idCursor),
+            consulta -> consulta.project(PedidoSpecifications.GRAFO_LISTAGEM)
+                .sortBy(PedidoSpecifications.ORDEM_CURSOR).limit(tamanho + 1).all());
+
+        String proximoCursor = null;
+        if (pedidos.size() > tamanho) {
+            pedidos = pedidos.subList(0, tamanho);
+            Pedido ultimo = pedidos.get(tamanho - 1);
+            proximoCursor = codificarCursor(ultimo.getDataPedido(), ultimo.getId());
+        }
+
+        List<PedidoResponseDTO> conteudo = pedidos.stream()
+            .map(pedidoMapper::toResponseDTO)
+            .collect(Collectors.toList());
+        return new PagedResponseWrapper<>(conteudo, tamanho, proximoCursor);
+    }
+
+    private String codificarCursor(LocalDateTime dataPedido, Long id) {
+        String posicao = dataPedido + SEPARADOR_CURSOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
     }
 
     // Buscar por ID
     @Override
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarPedidoPorId(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
+        PedidoResponseDTO pedido = pedidoRepository.findRespostaById(id)
             .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return preencherItens(List.of(pedido)).get(0);
     }
 
     // Listar pedidos por cliente
     @Override
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPedidosPorCliente(Long clienteId) {
-        List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId);
+        return preencherItens(pedidoRepository.findRespostaByClienteId(clienteId));
+    }
 
-        return pedidos.stream()
-            .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
-            .collect(Collectors.toList());
+    // Histórico paginado do cliente, do pedido mais recente para o mais antigo. A primeira página,
+    // até o tamanho guardado por cliente, vem dos pedidos recentes mantidos em memória
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PedidoResponseDTO> listarHistoricoCliente(Long clienteId, Pageable pageable) {
+        int recentes = pedidosRecentesService.getQuantidade();
+        if (pageable.getPageNumber() == 0 && pageable.getPageSize() <= recentes) {
+            return pedidosRecentesService.primeiraPagina(clienteId, pageable.getPageSize(),
+                () -> buscarHistorico(clienteId, PageRequest.of(0, recentes)));
+        }
+        // A ordem do histórico é fixa; a ordenação informada é ignorada
+        return buscarHistorico(clienteId, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    private Page<PedidoResponseDTO> buscarHistorico(Long clienteId, Pageable pageable) {
+        Page<PedidoResponseDTO> pedidos = pedidoRepository.findHistoricoByClienteId(clienteId, pageable);
+        preencherItens(pedidos.getContent());
+        return pedidos;
     }
 
     // Listar pedidos por restaurante
     @Override
     @Transactional(readOnly = true)
     public List<PedidoResponseDTO> buscarPedidosPorRestaurante(Long restauranteId, StatusPedido status) {
-        List<Pedido> pedidos;
+        List<PedidoResponseDTO> pedidos;
 
         if (status != null) {
-            pedidos = pedidoRepository.findByRestauranteIdAndStatus(restauranteId, status);
+            pedidos = pedidoRepository.findRespostaByRestauranteIdAndStatus(restauranteId, status);
         } else {
-            pedidos = pedidoRepository.findByRestauranteId(restauranteId);
+            pedidos = pedidoRepository.findRespostaByRestauranteId(restauranteId);
         }
-        return pedidos.stream()
-            .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
-            .collect(Collectors.toList());
+        return preencherItens(pedidos);
+    }
+
+    // Completa as respostas projetadas com os itens, buscados em uma única consulta
+    private List<PedidoResponseDTO> preencherItens(List<PedidoResponseDTO> pedidos) {
+        if (pedidos.isEmpty()) {
+            return pedidos;
+        }
+
+        Map<Long, List<ItemPedidoDTO>> itensPorPedido = new HashMap<>();
+        List<Long> ids = pedidos.stream().map(PedidoResponseDTO::getId).toList();
+        for (ItemPedidoView item : pedidoRepository.findItensByPedidoIdIn(ids)) {
+            ItemPedidoDTO itemDTO = new ItemPedidoDTO();
+            itemDTO.setProdutoId(item.getProdutoId());
+            itemDTO.setQuantidade(item.getQuantidade());
+            itensPorPedido.computeIfAbsent(item.getPedidoId(), id -> new ArrayList<>()).add(itemDTO);
+        }
+
+        pedidos.forEach(pedido -> pedido.setItens(itensPorPedido.getOrDefault(pedido.getId(), new ArrayList<>())));
+        return pedidos;
     }
 
     // Atualizar status do pedido
     @Override
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido novoStatus) {
-        Pedido pedido = pedidoRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+        transicionarStatus(id, novoStatus);
 
-        // Validar transições de status permitidas
-        if (!isTransicaoValida(pedido.getStatus(), novoStatus)) {
-            throw new BusinessException("Transição de status inválida: " + pedido.getStatus() + " -> " + novoStatus);
-        }
+        // A transição é feita sem carregar o pedido; a resposta completa vem da mesma projeção da busca por id
+        return buscarPedidoPorId(id);
+    }
 
-        pedido.setStatus(novoStatus);
-        Pedido pedidoAtualizado = pedidoRepository.save(pedido);
+    // Atualiza o status de vários pedidos do restaurante com um único UPDATE.
+    // Pedidos de outro restaurante são tratados como não encontrados
+    @Override
+    public List<ResultadoStatusPedidoDTO> atualizarStatusEmLote(Long restauranteId, List<Long> pedidoIds, StatusPedido novoStatus) {
+        Set<Long> ids = new LinkedHashSet<>(pedidoIds);
+        Set<StatusPedido> predecessores = PREDECESSORES.get(novoStatus);
+
+        // As linhas lidas ficam bloqueadas até o commit: nenhuma outra transição (um cancelamento avulso, outro
+        // lote) muda esses pedidos antes do UPDATE, então os elegíveis são exatamente os pedidos que ele altera.
+        // Sem isso, um pedido cancelado por outra requisição seria contado aqui, com o estoque devolvido duas vezes
+        Map<Long, StatusPedido> statusAtuais = pedidoRepository.bloquearStatusEmLote(ids, restauranteId).stream()
+            .collect(Collectors.toMap(PedidoStatusView::getId, PedidoStatusView::getStatus));
+        Set<Long> atualizados = statusAtuais.entrySet().stream()
+            .filter(entry -> predecessores.contains(entry.getValue()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+
+        if (!atualizados.isEmpty()) {
+            int alterados = pedidoRepository.atualizarStatusEmLote(atualizados, restauranteId, novoStatus, predecessores);
+            // Não deveria acontecer com as linhas bloqueadas; se acontecer, a transação é desfeita e o cliente
+            // recebe 409 para repetir o lote
+            if (alterados != atualizados.size()) {
+                throw new ConflictException("UPDATE em lote alterou " + alterados + " de " + atualizados.size()
+                    + " pedidos bloqueados, tente novamente", "pedidoIds", atualizados);
+            }
+            if (novoStatus == StatusPedido.CANCELADO) {
+                devolverEstoque(atualizados);
+            }
+            publicarEventos(atualizados, novoStatus);
+            pedidosRecentesService.atualizarStatusAposCommit(atualizados, novoStatus);
+        }
 
-        return modelMapper.map(pedidoAtualizado, PedidoResponseDTO.class);
+        List<ResultadoStatusPedidoDTO> resultados = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StatusPedido statusAtual = statusAtuais.get(id);
+            if (statusAtual == null) {
+                resultados.add(new ResultadoStatusPedidoDTO(id, ResultadoStatusPedidoDTO.Resultado.NAO_ENCONTRADO, null));
+            } else if (atualizados.contains(id)) {
+                resultados.add(new ResultadoStatusPedidoDTO(id, ResultadoStatusPedidoDTO.Resultado.ATUALIZADO, novoStatus));
+            } else {
+                resultados.add(new ResultadoStatusPedidoDTO(id, ResultadoStatusPedidoDTO.Resultado.TRANSICAO_INVALIDA, statusAtual));
+            }
+        }
+        return resultados;
     }
 
     // Calcular total do pedido
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPedido(List<ItemPedidoDTO> itens) {
+        Map<Long, Produto> produtos = buscarProdutos(itens);
+        return calcularSubtotal(itens, produtos);
+    }
+
+    // Calcula o total dos itens e emite uma cotação assinada que criarPedido pode reaproveitar
+    @Override
+    @Transactional(readOnly = true)
+    public CotacaoPedidoDTO cotarPedido(Long restauranteId, List<ItemPedidoDTO> itens) {
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado."));
+
+        if (!restaurante.isAtivo()) {
+            throw new BusinessException("Restaurante não está disponível");
+        }
+
+        Map<Long, Produto> produtos = carregarProdutosDoPedido(restauranteId, itens);
+        Map<Long, BigDecimal> precos = produtos.values().stream()
+            .collect(Collectors.toMap(Produto::getId, Produto::getPreco));
+
+        String token = cotacaoService.emitir(restauranteId, restaurante.getTaxaEntrega(), precos);
+        return new CotacaoPedidoDTO(calcularSubtotal(itens, produtos), restaurante.getTaxaEntrega(), token);
+    }
+
+    private BigDecimal calcularSubtotal(List<ItemPedidoDTO> itens, Map<Long, Produto> produtos) {
         BigDecimal total = BigDecimal.ZERO;
 
         for (ItemPedidoDTO item : itens) {
-            Produto produto = produtoRepository.findById(item.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
-
-            BigDecimal subtotalItem = produto.getPreco()
+            BigDecimal subtotalItem = produtos.get(item.getProdutoId()).getPreco()
                 .multiply(BigDecimal.valueOf(item.getQuantidade()));
             total = total.add(subtotalItem);
         }
@@ -230,40 +503,144 @@ public class PedidoServiceImpl implements PedidoService{
     // Cancelar pedido
     @Override
     public void cancelarPedido(Long id) {
-        Pedido pedido = pedidoRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado."));
-        
-        if (!podeSerCancelado(pedido.getStatus())) {
-            throw new BusinessException("Pedido não pode ser cancelado no status: " + pedido.getStatus());
-        }    
+        transicionarStatus(id, StatusPedido.CANCELADO);
+    }
 
-        pedido.setStatus(StatusPedido.CANCELADO);
-        pedidoRepository.save(pedido);
+    // Pedido recém-criado no mesmo formato das respostas projetadas, com os ids das associações
+    private PedidoResponseDTO resumir(Pedido pedido) {
+        PedidoResponseDTO resumo = new PedidoResponseDTO(pedido.getId(), pedido.getCliente().getId(),
+            pedido.getRestaurante().getId(), pedido.getEnderecoEntrega(), pedido.getDataPedido(), pedido.getStatus(),
+            pedido.getValorTotal(), pedido.getObservacoes(), pedido.getCep(), pedido.getFormaPagamento());
+        List<ItemPedidoDTO> itens = new ArrayList<>();
+        for (ItemPedido item : pedido.getItens()) {
+            ItemPedidoDTO itemDTO = new ItemPedidoDTO();
+            itemDTO.setProdutoId(item.getProduto().getId());
+            itemDTO.setQuantidade(item.getQuantidade());
+            itens.add(itemDTO);
+        }
+        resumo.setItens(itens);
+        return resumo;
+    }
 
+    // Eventos para os assinantes SSE; o PedidoEventoService só os entrega após o commit
+    private void publicarEvento(Pedido pedido) {
+        if (pedidoEventoService.possuiAssinantes()) {
+            eventPublisher.publishEvent(new PedidoEventoDTO(pedido.getId(), pedido.getRestaurante().getId(),
+                pedido.getCliente().getId(), pedido.getStatus(), LocalDateTime.now()));
+        }
     }
 
-    private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
-        // Lógica de transições válidas
-        switch (statusAtual) {
-            case PENDENTE:
-            return novoStatus == StatusPedido.CONFIRMADO || novoStatus == StatusPedido.CANCELADO;
+    // A mudança de status não carrega o pedido: restaurante e cliente só são consultados se houver assinantes
+    private void publicarEventos(Collection<Long> pedidoIds, StatusPedido status) {
+        if (!pedidoEventoService.possuiAssinantes()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        for (PedidoDestinatariosView pedido : pedidoRepository.findDestinatariosByIdIn(pedidoIds)) {
+            eventPublisher.publishEvent(new PedidoEventoDTO(pedido.getId(), pedido.getRestauranteId(),
+                pedido.getClienteId(), status, agora));
+        }
+    }
+
+    // Devolve ao estoque os itens dos pedidos cancelados, após o commit do cancelamento
+    private void devolverEstoque(Collection<Long> pedidoIds) {
+        Map<Long, Long> quantidades = pedidoRepository.somarQuantidadesPorProduto(pedidoIds).stream()
+            .collect(Collectors.toMap(QuantidadeProdutoView::getProdutoId, QuantidadeProdutoView::getQuantidade));
+        estoqueService.devolverAposCommit(quantidades);
+    }
+
+    // Compare-and-set: um único UPDATE condicionado aos status que podem levar ao novo status.
+    // Se nenhuma linha for alterada, o pedido não existe ou outro processo mudou o status antes
+    private void transicionarStatus(Long id, StatusPedido novoStatus) {
+        Set<StatusPedido> predecessores = PREDECESSORES.get(novoStatus);
+
+        if (!predecessores.isEmpty() && pedidoRepository.atualizarStatus(id, novoStatus, predecessores) == 1) {
+            if (novoStatus == StatusPedido.CANCELADO) {
+                devolverEstoque(List.of(id));
+            }
+            publicarEventos(List.of(id), novoStatus);
+            pedidosRecentesService.atualizarStatusAposCommit(List.of(id), novoStatus);
+            return;
+        }
 
-            case CONFIRMADO:
-            return novoStatus == StatusPedido.PREPARANDO || novoStatus == StatusPedido.CANCELADO;
+        StatusPedido statusAtual = pedidoRepository.findStatusById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
 
-            case PREPARANDO:
-            return novoStatus == StatusPedido.SAIU_PARA_ENTREGA;
+        if (novoStatus == StatusPedido.CANCELADO) {
+            throw new ConflictException("Pedido não pode ser cancelado no status: " + statusAtual, "status", statusAtual);
+        }
+        throw new ConflictException("Transição de status inválida: " + statusAtual + " -> " + novoStatus, "status", statusAtual);
+    }
 
-            case SAIU_PARA_ENTREGA:
-            return novoStatus == StatusPedido.ENTREGUE;
+    // Carrega os produtos dos itens em uma única consulta, listando todos os inexistentes
+    private Map<Long, Produto> buscarProdutos(List<ItemPedidoDTO> itens) {
+        Set<Long> produtoIds = itens.stream()
+            .map(ItemPedidoDTO::getProdutoId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
 
-            default:
-            return false;
+        Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<Long> naoEncontrados = produtoIds.stream()
+            .filter(id -> !produtos.containsKey(id))
+            .collect(Collectors.toList());
+
+        if (!naoEncontrados.isEmpty()) {
+            throw new EntityNotFoundException("Produto não encontrado: " + naoEncontrados.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(", ")));
         }
+
+        return produtos;
     }
 
-    private boolean podeSerCancelado(StatusPedido status) {
-        return status == StatusPedido.PENDENTE || status == StatusPedido.CONFIRMADO;
+    // Carrega os produtos do pedido em uma única consulta e valida todos os itens de uma vez
+    private Map<Long, Produto> carregarProdutosDoPedido(Long restauranteId, List<ItemPedidoDTO> itens) {
+        Map<Long, Produto> produtos = buscarProdutos(itens);
+
+        // O id do restaurante vem da chave estrangeira do produto, sem carregar o restaurante
+        List<String> erros = new ArrayList<>();
+        for (Produto produto : produtos.values()) {
+
+            if (!produto.isDisponivel()) {
+                erros.add("Produto indisponível: " + produto.getNome());
+            }
+
+            if (!produto.getRestaurante().getId().equals(restauranteId)) {
+                erros.add("Produto não pertence ao restaurante selecionado: " + produto.getNome());
+            }
+        }
+
+        if (!erros.isEmpty()) {
+            throw new ConflictException("Itens inválidos no pedido: " + String.join("; ", erros));
+        }
+
+        return produtos;
+    }
+
+    private boolean cotacaoCobrePedido(CotacaoService.Cotacao cotacao, PedidoDTO pedidoDto) {
+        return cotacao.getRestauranteId().equals(pedidoDto.getRestauranteId())
+            && pedidoDto.getItens().stream().allMatch(item -> cotacao.getPrecos().containsKey(item.getProdutoId()));
+    }
+
+    // Uma única consulta traz os produtos disponíveis com o restaurante (se ativo);
+    // retorna null se algum item não passar, para que o pedido seja validado da forma completa
+    private Map<Long, Produto> carregarProdutosCotados(PedidoDTO pedidoDto) {
+        Set<Long> produtoIds = pedidoDto.getItens().stream()
+            .map(ItemPedidoDTO::getProdutoId)
+            .collect(Collectors.toSet());
+
+        Map<Long, Produto> produtos = produtoRepository.findDisponiveisComRestaurante(produtoIds, pedidoDto.getRestauranteId())
+            .stream()
+            .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        return produtos.size() == produtoIds.size() ? produtos : null;
+    }
+
+    private static void transicao(StatusPedido origem, StatusPedido... destinos) {
+        for (StatusPedido destino : destinos) {
+            PREDECESSORES.get(destino).add(origem);
+        }
     }
 
 }
@@ -0,0 +1,215 @@
+package com.deliverytech.delivery_api.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery_api.datasource.RoteamentoLeitura;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.transacao.AposCommit;
+
+// Últimos pedidos de cada cliente, para servir a primeira página do histórico sem consultar o banco.
+// A lista é mantida na escrita: pedidos criados e mudanças de status são aplicados após o commit.
+// Uma carga que concorre com uma escrita do mesmo cliente é descartada, para não guardar dados anteriores a ela.
+// Só as escritas desta instância chegam à lista: ela expira após pedido.historico.ttl e é carregada de novo,
+// o que limita por quanto tempo uma escrita feita em outra instância fica sem aparecer
+@Service
+public class PedidosRecentesService {
+
+    private final int quantidade;
+    private final long ttl;
+    private final Clock relogio;
+    private final Map<Long, Recentes> clientes;
+
+    // Cliente de cada pedido guardado, para aplicar mudanças de status que só informam o id do pedido
+    private final Map<Long, Long> clientePorPedido = new ConcurrentHashMap<>();
+
+    // Cargas em andamento; mudanças de status de pedidos ainda desconhecidos invalidam todas elas
+    private final Set<Recentes> carregando = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public PedidosRecentesService(@Value("${pedido.historico.recentes:20}") int quantidade,
+                                  @Value("${pedido.historico.max-clientes:10000}") int maxClientes,
+                                  @Value("${pedido.historico.ttl:60000}") long ttl) {
+        this(quantidade, maxClientes, ttl, Clock.systemUTC());
+    }
+
+    public PedidosRecentesService(int quantidade, int maxClientes, long ttl, Clock relogio) {
+        this.quantidade = quantidade;
+        this.ttl = ttl;
+        this.relogio = relogio;
+        this.clientes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Recentes> eldest) {
+                if (size() <= maxClientes) {
+                    return false;
+                }
+                eldest.getValue().descartar();
+                return true;
+            }
+        });
+    }
+
+    // Quantidade de pedidos guardados por cliente; páginas maiores são buscadas no banco
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    // Primeira página do histórico. Sem o cliente em cache, carregar deve retornar a primeira página
+    // de tamanho getQuantidade(), com o total de pedidos do cliente
+    public Page<PedidoResponseDTO> primeiraPagina(Long clienteId, int tamanho, Supplier<Page<PedidoResponseDTO>> carregar) {
+        Recentes recentes = clientes.computeIfAbsent(clienteId, Recentes::new);
+
+        List<PedidoResponseDTO> pedidos;
+        long total;
+        long versao;
+        synchronized (recentes) {
+            if (recentes.pedidos != null) {
+                if (relogio.millis() - recentes.carregadaEm < ttl) {
+                    return pagina(recentes.pedidos, tamanho, recentes.total);
+                }
+                recentes.descartar();
+            }
+            versao = recentes.versao;
+            carregando.add(recentes);
+        }
+
+        try {
+            // Uma réplica atrasada deixaria a lista guardada sem pedidos já confirmados
+            Page<PedidoResponseDTO> carregada = RoteamentoLeitura.noPrimario(carregar);
+            pedidos = carregada.getContent();
+            total = carregada.getTotalElements();
+        } finally {
+            carregando.remove(recentes);
+        }
+
+        // Dentro de uma transação de escrita a carga pode ver dados ainda não confirmados
+        boolean confirmada = !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        synchronized (recentes) {
+            if (confirmada && recentes.versao == versao && recentes.pedidos == null) {
+                recentes.carregar(pedidos, total);
+            }
+        }
+        return pagina(pedidos, tamanho, total);
+    }
+
+    // O pedido deve trazer clienteId e itens preenchidos, como nas respostas projetadas
+    public void registrarAposCommit(PedidoResponseDTO pedido) {
+        AposCommit.executar(() -> registrar(pedido));
+    }
+
+    public void atualizarStatusAposCommit(Collection<Long> pedidoIds, StatusPedido status) {
+        List<Long> ids = List.copyOf(pedidoIds);
+        AposCommit.executar(() -> ids.forEach(id -> atualizarStatus(id, status)));
+    }
+
+    private void registrar(PedidoResponseDTO pedido) {
+        Recentes recentes = clientes.get(pedido.getClienteId());
+        if (recentes == null) {
+            return;
+        }
+        synchronized (recentes) {
+            recentes.versao++;
+            // A lista pode ter sido carregada depois do commit, já com o pedido
+            if (recentes.pedidos == null || clientePorPedido.containsKey(pedido.getId())) {
+                return;
+            }
+            List<PedidoResponseDTO> pedidos = new ArrayList<>(quantidade);
+            pedidos.add(pedido);
+            for (PedidoResponseDTO anterior : recentes.pedidos) {
+                if (pedidos.size() < quantidade) {
+                    pedidos.add(anterior);
+                } else {
+                    clientePorPedido.remove(anterior.getId());
+                }
+            }
+            clientePorPedido.put(pedido.getId(), recentes.clienteId);
+            recentes.pedidos = Collections.unmodifiableList(pedidos);
+            recentes.total++;
+        }
+    }
+
+    private void atualizarStatus(Long pedidoId, StatusPedido status) {
+        Long clienteId = clientePorPedido.get(pedidoId);
+        Recentes recentes = clienteId != null ? clientes.get(clienteId) : null;
+        if (recentes == null) {
+            // O pedido pode pertencer a um cliente cuja lista está sendo carregada
+            carregando.forEach(Recentes::invalidar);
+            return;
+        }
+        synchronized (recentes) {
+            recentes.versao++;
+            if (recentes.pedidos == null) {
+                return;
+            }
+            // As listas guardadas podem estar sendo lidas: o pedido alterado é substituído por uma cópia.
+            // Os status só avançam na ordem de StatusPedido; uma mudança que chega depois de outra mais
+            // nova (callbacks de commits diferentes, em qualquer ordem) é ignorada
+            List<PedidoResponseDTO> pedidos = new ArrayList<>(recentes.pedidos);
+            pedidos.replaceAll(pedido -> pedido.getId().equals(pedidoId) && status.compareTo(pedido.getStatus()) > 0
+                ? comStatus(pedido, status) : pedido);
+            recentes.pedidos = Collections.unmodifiableList(pedidos);
+        }
+    }
+
+    private PedidoResponseDTO comStatus(PedidoResponseDTO pedido, StatusPedido status) {
+        PedidoResponseDTO copia = new PedidoResponseDTO(pedido.getId(), pedido.getClienteId(), pedido.getRestauranteId(),
+            pedido.getEnderecoEntrega(), pedido.getDataPedido(), status, pedido.getValorTotal(), pedido.getObservacoes(),
+            pedido.getCep(), pedido.getFormaPagamento());
+        copia.setItens(pedido.getItens());
+        return copia;
+    }
+
+    private Page<PedidoResponseDTO> pagina(List<PedidoResponseDTO> pedidos, int tamanho, long total) {
+        return new PageImpl<>(pedidos.subList(0, Math.min(tamanho, pedidos.size())), PageRequest.of(0, tamanho), total);
+    }
+
+    private class Recentes {
+        private final Long clienteId;
+        // Nulo enquanto a lista não foi carregada; a versão muda a cada escrita do cliente
+        private List<PedidoResponseDTO> pedidos;
+        private long total;
+        private long versao;
+        private long carregadaEm;
+
+        Recentes(Long clienteId) {
+            this.clienteId = clienteId;
+        }
+
+        void carregar(List<PedidoResponseDTO> pedidos, long total) {
+            this.pedidos = List.copyOf(pedidos);
+            this.total = total;
+            this.carregadaEm = relogio.millis();
+            pedidos.forEach(pedido -> clientePorPedido.put(pedido.getId(), clienteId));
+        }
+
+        synchronized void invalidar() {
+            versao++;
+        }
+
+        synchronized void descartar() {
+            if (pedidos != null) {
+                pedidos.forEach(pedido -> clientePorPedido.remove(pedido.getId()));
+            }
+            pedidos = null;
+            versao++;
+        }
+    }
+}
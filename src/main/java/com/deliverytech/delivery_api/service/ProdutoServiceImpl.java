@@ -2,21 +2,19 @@ package com.deliverytech.delivery_api.service;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.delivery_api.cache.ProdutoCacheInvalidador;
 import com.deliverytech.delivery_api.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
 import com.deliverytech.delivery_api.exception.BusinessException;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.ProdutoMapper;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
@@ -35,7 +33,13 @@ public class ProdutoServiceImpl implements ProdutoService {
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProdutoMapper produtoMapper;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ProdutoCacheInvalidador produtoCacheInvalidador;
 
     // cadastrar novo produto
     @Override
@@ -46,42 +50,42 @@ public class ProdutoServiceImpl implements ProdutoService {
         validarDadosProduto(produtoDto);
 
         // Converter DTO para entidade
-        Produto produto = modelMapper.map(produtoDto, Produto.class);
+        Produto produto = produtoMapper.toEntity(produtoDto);
         produto.setRestaurante(restaurante);
         produto.setDisponivel(true);
 
         Produto novoProduto = produtoRepository.save(produto);
-        return modelMapper.map(novoProduto, ProdutoResponseDTO.class);
+        estoqueService.incluirAposCommit(novoProduto.getId(), novoProduto.getEstoque());
+        ProdutoResponseDTO resposta = produtoMapper.toResponseDTO(novoProduto);
+        produtoCacheInvalidador.produtoAlteradoAposCommit(null, resposta);
+        return resposta;
 
     }
 
     // Listar produtos por restaurante
     @Override
     @Transactional(readOnly = true)
-    @Cacheable("produtos")
+    @Cacheable(value = ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE, sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId) {
-        List<Produto> produtos = produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId);
-        return produtos.stream()
-            .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
-            .collect(Collectors.toList());
+        return produtoRepository.findRespostaByRestauranteId(restauranteId);
     }
 
     // Buscar por ID
     @Override
     @Transactional(readOnly = true)
-    @Cacheable("produtos")
+    @Cacheable(value = ProdutoCacheInvalidador.PRODUTO, sync = true)
     public ProdutoResponseDTO buscarProdutoPorId(Long id){
         Produto produto = produtoRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
-        return modelMapper.map(produto, ProdutoResponseDTO.class); 
+        return produtoMapper.toResponseDTO(produto); 
     }
 
     // Atualizar produto
     @Override
-    @CacheEvict(value = "produtos", allEntries = true)
     public ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO produtoDto) {
         Produto produtoExistente = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado: " + id));
+        ProdutoResponseDTO antes = produtoMapper.toResponseDTO(produtoExistente);
 
         validarDadosProduto(produtoDto);
 
@@ -91,19 +95,32 @@ public class ProdutoServiceImpl implements ProdutoService {
         produtoExistente.setCategoria(produtoDto.getCategoria());
         produtoExistente.setDisponivel(produtoDto.isDisponivel());
 
-        Produto produtoAtualizado = produtoRepository.save(produtoExistente);
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        // O saldo só é substituído quando informado, e sempre pelo EstoqueService: a coluna não é gravada
+        // pela entidade
+        if (produtoDto.getEstoque() != null) {
+            estoqueService.definir(id, produtoDto.getEstoque());
+        }
+
+        // Gravado na hora para que a resposta já traga a nova versão
+        Produto produtoAtualizado = produtoRepository.saveAndFlush(produtoExistente);
+        ProdutoResponseDTO depois = produtoMapper.toResponseDTO(produtoAtualizado);
+        produtoCacheInvalidador.produtoAlteradoAposCommit(antes, depois);
+        return depois;
     }
   
     // Remover um Produto
     @Override
     @Transactional
     public void removerProduto(Long id) {
+        // Carregado antes da remoção para saber quais listas em cache o contêm
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+        ProdutoResponseDTO antes = produtoMapper.toResponseDTO(produto);
         try {
-            produtoRepository.deleteById(id);
+            produtoRepository.delete(produto);
             produtoRepository.flush();
-        } catch (EmptyResultDataAccessException e){
-            throw new EntityNotFoundException("Produto não encontrado com ID: " + id);
+            estoqueService.removerAposCommit(id);
+            produtoCacheInvalidador.produtoAlteradoAposCommit(antes, null);
         } catch (DataIntegrityViolationException e) {
         throw new BusinessException("Produto com ID " + id + " não pode ser removido pois possui pedidos associados.");
         }
@@ -114,32 +131,30 @@ public class ProdutoServiceImpl implements ProdutoService {
     public ProdutoResponseDTO alterarDisponibilidade(Long id, boolean disponivel) {
         Produto produtoExistente = produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com ID: " + id));
+        ProdutoResponseDTO antes = produtoMapper.toResponseDTO(produtoExistente);
         produtoExistente.setDisponivel(!produtoExistente.isDisponivel());
 
-        Produto produtoAtualizado = produtoRepository.save(produtoExistente);
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        // Gravado na hora para que a resposta já traga a nova versão
+        Produto produtoAtualizado = produtoRepository.saveAndFlush(produtoExistente);
+        ProdutoResponseDTO depois = produtoMapper.toResponseDTO(produtoAtualizado);
+        produtoCacheInvalidador.produtoAlteradoAposCommit(antes, depois);
+        return depois;
     }
 
     // Buscar por categoria
     @Override
     @Transactional(readOnly = true)
-    @Cacheable("produtos")
+    @Cacheable(value = ProdutoCacheInvalidador.PRODUTOS_CATEGORIA, sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorCategoria(String categoria) {
-        List<Produto> produtos = produtoRepository.findByCategoriaAndDisponivelTrue(categoria);
-        return produtos.stream()
-            .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
-            .collect(Collectors.toList());
+        return produtoRepository.findRespostaByCategoria(categoria);
     }
 
     // Buscar por nome
     @Override
     @Transactional(readOnly = true)
-    @Cacheable("produtos")
+    @Cacheable(value = ProdutoCacheInvalidador.PRODUTOS_NOME, sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorNome(String nome){
-        List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue(nome);
-        return produtos.stream()
-            .map(produto -> modelMapper.map(produto, ProdutoResponseDTO.class))
-            .collect(Collectors.toList());
+        return produtoRepository.findRespostaByNome(nome);
     }
 
     private void validarDadosProduto(ProdutoDTO produto) {
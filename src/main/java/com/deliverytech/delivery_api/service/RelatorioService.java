@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.deliverytech.delivery_api.dto.ClienteAtivoDTO;
 import com.deliverytech.delivery_api.dto.PedidoPeriodoDTO;
@@ -15,6 +16,7 @@ import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
 
 @Service
+@Transactional(readOnly = true)
 public class RelatorioService {
 
     private final PedidoRepository pedidoRepository;
@@ -1,10 +1,12 @@
 package com.deliverytech.delivery_api.service;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
 import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
 
@@ -18,7 +20,12 @@ public interface RestauranteService {
 
     List<RestauranteResponseDTO> buscarRestaurantesDisponiveis(); // Ativos
 
-    Page<RestauranteResponseDTO> listarRestaurantes(String categoria, Boolean aitvo, Pageable pageable); // Lista com filtros
+    Page<RestauranteResponseDTO> listarRestaurantes(String categoria, Boolean ativo, BigDecimal taxaEntregaMin,
+                                                    BigDecimal taxaEntregaMax, BigDecimal avaliacaoMin,
+                                                    Pageable pageable); // Lista com filtros
+    PagedResponseWrapper<RestauranteResponseDTO> listarRestaurantesSemTotal(String categoria, Boolean ativo, BigDecimal taxaEntregaMin,
+                                                                           BigDecimal taxaEntregaMax, BigDecimal avaliacaoMin,
+                                                                           Pageable pageable, boolean totalAproximado); // Lista sem COUNT
 
     RestauranteResponseDTO atualizarRestaurante(Long id, RestauranteDTO dto);
 
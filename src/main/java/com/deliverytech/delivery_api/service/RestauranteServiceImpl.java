@@ -4,21 +4,27 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
 import com.deliverytech.delivery_api.dto.RestauranteDTO;
 import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.exception.BadRequestException;
 import com.deliverytech.delivery_api.exception.BusinessException;
 import com.deliverytech.delivery_api.exception.ConflictException;
 import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.mapper.RestauranteMapper;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.RestauranteSpecifications;
 
 //import jakarta.persistence.EntityNotFoundException;
 
@@ -30,7 +36,13 @@ public class RestauranteServiceImpl implements RestauranteService {
     private RestauranteRepository restauranteRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RestauranteMapper restauranteMapper;
+
+    @Autowired
+    private ContagemAproximadaService contagemAproximadaService;
+
+    @Autowired
+    private RestaurantesAtivosService restaurantesAtivosService;
 
     // Cadastrar novo restaurante
     @Override
@@ -44,31 +56,42 @@ public class RestauranteServiceImpl implements RestauranteService {
         validarDadosRestaurante(restauranteDto);
 
         // Converter DTO para entidade
-        Restaurante restaurante = modelMapper.map(restauranteDto, Restaurante.class);
+        Restaurante restaurante = restauranteMapper.toEntity(restauranteDto);
         restaurante.setAtivo(true);
 
         Restaurante novoRestaurante = restauranteRepository.save(restaurante);
-        return modelMapper.map(novoRestaurante, RestauranteResponseDTO.class);
+        RestauranteResponseDTO resposta = restauranteMapper.toResponseDTO(novoRestaurante);
+        restaurantesAtivosService.atualizarAposCommit(resposta);
+        return resposta;
     }
 
-    // Buscar restaurante por ID
+    // Buscar restaurante por ID: os ativos vêm da cópia em memória
     @Override
     @Transactional(readOnly = true)
     public RestauranteResponseDTO buscarRestaurantePorId(Long id) {
+        if (restaurantesAtivosService.disponivel()) {
+            RestauranteResponseDTO ativo = ativos().porId().get(id);
+            if (ativo != null) {
+                return ativo;
+            }
+        }
         Restaurante restaurante = restauranteRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + id));
 
-        return modelMapper.map(restaurante, RestauranteResponseDTO.class); 
+        return restauranteMapper.toResponseDTO(restaurante); 
     }
 
-    // Buscar por categoria
+    // Buscar restaurantes ativos por categoria
     @Override
     @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarRestaurantesPorCategoria(String categoria){
-        List<Restaurante> restaurantes = restauranteRepository.findByCategoria(categoria);
+        if (restaurantesAtivosService.disponivel()) {
+            return ativos().daCategoria(categoria);
+        }
+        List<Restaurante> restaurantes = restauranteRepository.findByCategoriaAndAtivoTrue(categoria);
 
         return restaurantes.stream()
-            .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
+            .map(restauranteMapper::toResponseDTO)
             .collect(Collectors.toList());
     }
 
@@ -76,38 +99,44 @@ public class RestauranteServiceImpl implements RestauranteService {
     @Override
     @Transactional(readOnly = true)
     public List<RestauranteResponseDTO> buscarRestaurantesDisponiveis() {
-        List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
+        if (restaurantesAtivosService.disponivel()) {
+            return ativos().ativos();
+        }
+        return restauranteRepository.findRespostaByAtivoTrue();
+    }
 
-        return restaurantesAtivos.stream()
-            .map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class))
-            .collect(Collectors.toList());
+    private RestaurantesAtivosService.Snapshot ativos() {
+        return restaurantesAtivosService.obter(restauranteRepository::findRespostaByAtivoTrue);
     }
 
-    // Listar restaurantes por filtro
+    // Listar restaurantes por filtro: filtros, ordenação e paginação resolvidos no banco
     @Override
     @Transactional(readOnly = true)
-    public Page<RestauranteResponseDTO> listarRestaurantes(String categoria, Boolean ativo, Pageable pageable) {
-        // Se não há filtros, aproveita paginação no repositório
-        if (categoria == null && ativo == null) {
-            Page<Restaurante> page = restauranteRepository.findAll(pageable);
-            return page.map(restaurante -> modelMapper.map(restaurante, RestauranteResponseDTO.class));
-        }
-
-        // Caso haja filtro, busca todos e filtra em memória (substituir por queries paginadas para produção)
-        List<Restaurante> all = restauranteRepository.findAll();
-
-        List<RestauranteResponseDTO> filtered = all.stream()
-            .filter(r -> categoria == null || (r.getCategoria() != null && r.getCategoria().equalsIgnoreCase(categoria)))
-            .filter(r -> ativo == null || r.isAtivo() == ativo)
-            .map(r -> modelMapper.map(r, RestauranteResponseDTO.class))
-            .collect(Collectors.toList());
+    public Page<RestauranteResponseDTO> listarRestaurantes(String categoria, Boolean ativo, BigDecimal taxaEntregaMin,
+                                                           BigDecimal taxaEntregaMax, BigDecimal avaliacaoMin, Pageable pageable) {
+        Specification<Restaurante> filtros = filtrosListagem(categoria, ativo, taxaEntregaMin, taxaEntregaMax, avaliacaoMin);
+        Page<Restaurante> restaurantes = restauranteRepository.findAll(filtros, ordenacaoListagem(pageable));
+        return restaurantes.map(restauranteMapper::toResponseDTO);
+    }
 
-        int total = filtered.size();
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), total);
-        List<RestauranteResponseDTO> content = start > end ? List.of() : filtered.subList(start, end);
+    // Listar restaurantes sem COUNT: busca uma linha a mais para saber se há próxima página
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponseWrapper<RestauranteResponseDTO> listarRestaurantesSemTotal(String categoria, Boolean ativo,
+                                                                                  BigDecimal taxaEntregaMin, BigDecimal taxaEntregaMax,
+                                                                                  BigDecimal avaliacaoMin, Pageable pageable,
+                                                                                  boolean totalAproximado) {
+        Specification<Restaurante> filtros = filtrosListagem(categoria, ativo, taxaEntregaMin, taxaEntregaMax, avaliacaoMin);
+        Pageable ordenado = ordenacaoListagem(pageable);
+        Slice<Restaurante> restaurantes = restauranteRepository.findBy(filtros, consulta -> consulta.slice(ordenado));
+
+        Long total = null;
+        if (totalAproximado) {
+            String chave = "restaurantes:" + categoria + ":" + ativo + ":" + taxaEntregaMin + ":" + taxaEntregaMax + ":" + avaliacaoMin;
+            total = contagemAproximadaService.obter(chave, () -> restauranteRepository.count(filtros));
+        }
 
-        return new PageImpl<>(content, pageable, total);
+        return new PagedResponseWrapper<>(restaurantes.map(restauranteMapper::toResponseDTO), total);
     }
    
     // Atualizar dados do restaurante
@@ -130,8 +159,11 @@ public class RestauranteServiceImpl implements RestauranteService {
         restauranteExistente.setTelefone(dto.getTelefone());
         restauranteExistente.setTaxaEntrega(dto.getTaxaEntrega());
 
-        Restaurante restauranteAtualizado = restauranteRepository.save(restauranteExistente);
-        return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
+        // Gravado na hora para que a resposta e a cópia dos ativos já tragam a nova versão
+        Restaurante restauranteAtualizado = restauranteRepository.saveAndFlush(restauranteExistente);
+        RestauranteResponseDTO resposta = restauranteMapper.toResponseDTO(restauranteAtualizado);
+        restaurantesAtivosService.atualizarAposCommit(resposta);
+        return resposta;
     }
 
     @Override
@@ -145,12 +177,36 @@ public class RestauranteServiceImpl implements RestauranteService {
         boolean novoStatus = !restaurante.isAtivo();
         restaurante.setAtivo(novoStatus);
 
-        Restaurante restauranteAtualizado = restauranteRepository.save(restaurante);
-        return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
+        Restaurante restauranteAtualizado = restauranteRepository.saveAndFlush(restaurante);
+        RestauranteResponseDTO resposta = restauranteMapper.toResponseDTO(restauranteAtualizado);
+        restaurantesAtivosService.atualizarAposCommit(resposta);
+        return resposta;
         
     }
 
     // VALIDAÇÕES DE NEGÓCIO
+    private Specification<Restaurante> filtrosListagem(String categoria, Boolean ativo, BigDecimal taxaEntregaMin,
+                                                       BigDecimal taxaEntregaMax, BigDecimal avaliacaoMin) {
+        if (taxaEntregaMin != null && taxaEntregaMax != null && taxaEntregaMin.compareTo(taxaEntregaMax) > 0) {
+            throw new BadRequestException("Taxa de entrega mínima maior que a máxima");
+        }
+        return RestauranteSpecifications.listagem(categoria, ativo, taxaEntregaMin, taxaEntregaMax, avaliacaoMin);
+    }
+
+    // Aceita apenas campos conhecidos na ordenação e acrescenta o id como desempate
+    private Pageable ordenacaoListagem(Pageable pageable) {
+        for (Sort.Order ordem : pageable.getSort()) {
+            if (!RestauranteSpecifications.CAMPOS_ORDENACAO.contains(ordem.getProperty())) {
+                throw new BadRequestException("Ordenação não suportada: " + ordem.getProperty());
+            }
+        }
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor("id") != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+            pageable.getSort().and(RestauranteSpecifications.DESEMPATE));
+    }
+
     private void validarDadosRestaurante(RestauranteDTO restaurante) {
         if (restaurante.getNome() == null || restaurante.getNome().trim().isEmpty()) {
             throw new IllegalArgumentException("Nome é obrigatório");
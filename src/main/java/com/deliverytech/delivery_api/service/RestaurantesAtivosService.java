@@ -0,0 +1,154 @@
+package com.deliverytech.delivery_api.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.deliverytech.delivery_api.datasource.RoteamentoLeitura;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.transacao.AposCommit;
+
+// Cópia imutável e versionada dos restaurantes ativos, indexada por id e por categoria, para as consultas
+// da tela inicial. Cada alteração confirmada gera uma nova cópia (copy-on-write) que substitui a anterior
+// de uma vez: quem lê nunca espera nem vê um estado parcial. Alterações feitas por outras instâncias ou
+// fora do serviço aparecem quando a cópia expira. As respostas são compartilhadas e não devem ser alteradas
+@Service
+public class RestaurantesAtivosService {
+
+    private static final Comparator<RestauranteResponseDTO> POR_ID = Comparator.comparing(RestauranteResponseDTO::getId);
+
+    private final long validadeNanos;
+    private final ReentrantLock carga = new ReentrantLock();
+
+    private volatile Snapshot atual;
+    // Muda a cada alteração confirmada; uma carga concorrente com alguma delas não é guardada
+    private long geracao;
+
+    public RestaurantesAtivosService(@Value("${restaurantes.snapshot.validade:60000}") long validade) {
+        this.validadeNanos = TimeUnit.MILLISECONDS.toNanos(validade);
+    }
+
+    // Cópia atual. Sem cópia, ou com a cópia expirada, carregar deve retornar os restaurantes ativos
+    public Snapshot obter(Supplier<List<RestauranteResponseDTO>> carregar) {
+        Snapshot snapshot = atual;
+        if (snapshot != null && !snapshot.expirado(validadeNanos)) {
+            return snapshot;
+        }
+        // Com uma cópia expirada, só uma thread recarrega; as demais seguem com a cópia que existe
+        if (snapshot != null && !carga.tryLock()) {
+            return snapshot;
+        }
+        if (snapshot == null) {
+            carga.lock();
+        }
+        try {
+            snapshot = atual;
+            if (snapshot != null && !snapshot.expirado(validadeNanos)) {
+                return snapshot;
+            }
+            return carregar(carregar);
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    // Dentro de uma transação de escrita as consultas devem ver as alterações ainda não confirmadas dela
+    public boolean disponivel() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // Aplica o restaurante cadastrado ou alterado depois do commit; inativos saem da cópia
+    public void atualizarAposCommit(RestauranteResponseDTO restaurante) {
+        AposCommit.executar(() -> atualizar(restaurante));
+    }
+
+    private Snapshot carregar(Supplier<List<RestauranteResponseDTO>> carregar) {
+        long geracaoCarga;
+        synchronized (this) {
+            geracaoCarga = geracao;
+        }
+        // Uma réplica atrasada deixaria a cópia sem alterações já confirmadas
+        List<RestauranteResponseDTO> ativos = RoteamentoLeitura.noPrimario(carregar);
+        synchronized (this) {
+            Snapshot anterior = atual;
+            Snapshot novo = Snapshot.de(anterior != null ? anterior.versao() + 1 : 1, ativos);
+            if (geracao == geracaoCarga) {
+                atual = novo;
+            }
+            return novo;
+        }
+    }
+
+    private synchronized void atualizar(RestauranteResponseDTO restaurante) {
+        geracao++;
+        Snapshot anterior = atual;
+        if (anterior != null) {
+            atual = anterior.com(restaurante);
+        }
+    }
+
+    // versoes: versão (@Version) de cada restaurante já aplicado à cópia, inclusive os que saíram dela
+    public record Snapshot(long versao, long criadoEm, List<RestauranteResponseDTO> ativos,
+                           Map<Long, RestauranteResponseDTO> porId,
+                           Map<String, List<RestauranteResponseDTO>> porCategoria,
+                           Map<Long, Long> versoes) {
+
+        static Snapshot de(long versao, List<RestauranteResponseDTO> restaurantes) {
+            List<RestauranteResponseDTO> ativos = restaurantes.stream()
+                .filter(RestauranteResponseDTO::isAtivo)
+                .sorted(POR_ID)
+                .toList();
+            Map<Long, RestauranteResponseDTO> porId = new LinkedHashMap<>();
+            ativos.forEach(restaurante -> porId.put(restaurante.getId(), restaurante));
+            Map<String, List<RestauranteResponseDTO>> porCategoria = ativos.stream()
+                .filter(restaurante -> restaurante.getCategoria() != null)
+                .collect(Collectors.groupingBy(RestauranteResponseDTO::getCategoria, Collectors.toUnmodifiableList()));
+            Map<Long, Long> versoes = new HashMap<>();
+            ativos.stream()
+                .filter(restaurante -> restaurante.getVersao() != null)
+                .forEach(restaurante -> versoes.put(restaurante.getId(), restaurante.getVersao()));
+            return new Snapshot(versao, System.nanoTime(), ativos, Map.copyOf(porId), Map.copyOf(porCategoria),
+                Map.copyOf(versoes));
+        }
+
+        // Nova cópia com o restaurante substituído; a data de criação é mantida para a expiração.
+        // Commits do mesmo restaurante podem ter os callbacks executados fora de ordem: uma versão que não
+        // é mais nova que a já aplicada é ignorada, para que a cópia não volte a um estado anterior
+        Snapshot com(RestauranteResponseDTO restaurante) {
+            Long aplicada = versoes.get(restaurante.getId());
+            if (aplicada != null && restaurante.getVersao() != null && restaurante.getVersao() <= aplicada) {
+                return this;
+            }
+            List<RestauranteResponseDTO> restaurantes = new ArrayList<>(ativos);
+            restaurantes.removeIf(existente -> existente.getId().equals(restaurante.getId()));
+            restaurantes.add(restaurante);
+            Snapshot novo = de(versao + 1, restaurantes);
+            Map<Long, Long> novasVersoes = new HashMap<>(versoes);
+            if (restaurante.getVersao() != null) {
+                novasVersoes.put(restaurante.getId(), restaurante.getVersao());
+            }
+            return new Snapshot(novo.versao(), criadoEm, novo.ativos(), novo.porId(), novo.porCategoria(),
+                Map.copyOf(novasVersoes));
+        }
+
+        public List<RestauranteResponseDTO> daCategoria(String categoria) {
+            return porCategoria.getOrDefault(categoria, List.of());
+        }
+
+        boolean expirado(long validadeNanos) {
+            return System.nanoTime() - criadoEm > validadeNanos;
+        }
+    }
+}
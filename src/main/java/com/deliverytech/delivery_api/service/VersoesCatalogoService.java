@@ -0,0 +1,114 @@
+package com.deliverytech.delivery_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.repository.VersaoView;
+
+// Validadores (ETag) das consultas do catálogo, derivados das versões de restaurantes e produtos, que cada
+// alteração incrementa. O validador atual vem de uma consulta às versões, feita antes da consulta completa
+// para responder 304 sem ela. A resposta completa leva o validador do que ela contém: o conteúdo pode vir de
+// um cache ainda não atualizado e, assim, nunca recebe o validador de um conteúdo mais novo. A listagem de
+// restaurantes não tem um validador por conteúdo: versão e conteúdo são lidos na mesma transação
+@Service
+@Transactional(readOnly = true)
+public class VersoesCatalogoService {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+
+    public VersoesCatalogoService(RestauranteRepository restauranteRepository, ProdutoRepository produtoRepository) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Vazio quando o restaurante não existe
+    public Optional<String> etagRestaurante(Long id) {
+        return restauranteRepository.findVersaoById(id).map(versao -> restaurante(id, versao));
+    }
+
+    public String etag(RestauranteResponseDTO restaurante) {
+        return restaurante(restaurante.getId(), restaurante.getVersao());
+    }
+
+    // A listagem muda com qualquer restaurante; os parâmetros da requisição distinguem filtros e páginas
+    public String etagListagem(Map<String, String[]> parametros) {
+        String consulta = new TreeMap<>(parametros).entrySet().stream()
+            .map(parametro -> parametro.getKey() + "=" + String.join(",", parametro.getValue()))
+            .collect(Collectors.joining("&"));
+        return "restaurantes-" + restauranteRepository.versaoListagem() + "-" + resumo(consulta);
+    }
+
+    // Lê a versão da listagem e, se naoModificada recusar o validador, o conteúdo, na mesma transação só de
+    // leitura: com réplicas, os dois vêm da mesma réplica, e a versão lida antes nunca é mais nova que o
+    // conteúdo. Conteúdo nulo quando o cliente já tem a listagem atual
+    public <T> Listagem<T> listagem(Map<String, String[]> parametros, Predicate<String> naoModificada,
+                                    Supplier<T> listar) {
+        String etag = etagListagem(parametros);
+        return new Listagem<>(etag, naoModificada.test(etag) ? null : listar.get());
+    }
+
+    // Vazio quando o produto não existe
+    public Optional<String> etagProduto(Long id) {
+        return produtoRepository.findVersaoById(id).map(versao -> produto(id, versao));
+    }
+
+    public String etag(ProdutoResponseDTO produto) {
+        return produto(produto.getId(), produto.getVersao());
+    }
+
+    // O cardápio muda quando um produto disponível é alterado ou quando um produto entra ou sai dele
+    public String etagCardapio(Long restauranteId) {
+        List<VersaoView> versoes = produtoRepository.findVersoesByRestauranteId(restauranteId);
+        return cardapio(restauranteId, versoes.stream()
+            .map(versao -> new long[] {versao.getId(), versao.getVersao()})
+            .toList());
+    }
+
+    // Respostas guardadas antes das versões (sem versão) recebem validadores que nunca batem com os do banco
+    public String etagCardapio(Long restauranteId, List<ProdutoResponseDTO> produtos) {
+        return cardapio(restauranteId, produtos.stream()
+            .map(produto -> new long[] {produto.getId(), Objects.requireNonNullElse(produto.getVersao(), -1L)})
+            .toList());
+    }
+
+    private String restaurante(Long id, Long versao) {
+        return "restaurante-" + id + "-" + versao;
+    }
+
+    private String produto(Long id, Long versao) {
+        return "produto-" + id + "-" + versao;
+    }
+
+    private String cardapio(Long restauranteId, List<long[]> versoes) {
+        String conteudo = versoes.stream()
+            .sorted(Comparator.comparingLong(versao -> versao[0]))
+            .map(Arrays::toString)
+            .collect(Collectors.joining());
+        return "cardapio-" + restauranteId + "-" + resumo(conteudo);
+    }
+
+    private String resumo(String conteudo) {
+        return DigestUtils.md5DigestAsHex(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Listagem<T>(String etag, T conteudo) {
+    }
+}
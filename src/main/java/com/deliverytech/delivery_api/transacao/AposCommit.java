@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Adia ações sobre cópias em memória (caches, saldos) para depois do commit da transação atual,
+// para que um rollback não deixe a cópia com dados que não foram gravados.
+// Sem transação ativa a ação é executada na hora
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -33,24 +33,24 @@ INSERT INTO produto (nome, descricao, preco, categoria, disponivel, restaurante_
 ('Temaki Atum', 'Temaki de atum com cream cheese', 15.90, 'Temaki', true, 3);
 
 -- Inserir pedidos de exemplo
-INSERT INTO pedido (data_pedido, status, valor_total, observacoes,
+INSERT INTO pedido (id, data_pedido, status, valor_total, observacoes,
 cliente_id, restaurante_id) VALUES
-(NOW(), 'PENDENTE', 54.80, 'Sem cebola na pizza', 1, 1),
-(NOW(), 'CONFIRMADO', 41.80, '', 2, 2),
-(NOW(), 'ENTREGUE', 78.80, 'Wasabi a parte', 3, 3);
+(1, NOW(), 'PENDENTE', 54.80, 'Sem cebola na pizza', 1, 1),
+(2, NOW(), 'CONFIRMADO', 41.80, '', 2, 2),
+(3, NOW(), 'ENTREGUE', 78.80, 'Wasabi a parte', 3, 3);
 
 -- Inserir itens dos pedidos
-INSERT INTO item_pedido (quantidade, preco_unitario, subtotal, pedido_id, produto_id)
+INSERT INTO item_pedido (id, quantidade, preco_unitario, subtotal, pedido_id, produto_id)
 VALUES
 -- Pedido 1 (João - Pizzaria Bella)
-(1, 35.90, 35.90, 1, 1), -- Pizza Margherita
-(1, 28.90, 28.90, 1, 3), -- Lasanha
+(1, 1, 35.90, 35.90, 1, 1), -- Pizza Margherita
+(2, 1, 28.90, 28.90, 1, 3), -- Lasanha
 -- Pedido 2 (Maria - Burger House)
-(1, 22.90, 22.90, 2, 5), -- X-Bacon
-(1, 18.90, 18.90, 2, 4), -- X-Burger
+(3, 1, 22.90, 22.90, 2, 5), -- X-Bacon
+(4, 1, 18.90, 18.90, 2, 4), -- X-Burger
 -- Pedido 3 (Pedro - Sushi Master)
-(1, 45.90, 45.90, 3, 7), -- Combo Sashimi
-(1, 32.90, 32.90, 3, 8); -- Hot Roll
+(5, 1, 45.90, 45.90, 3, 7), -- Combo Sashimi
+(6, 1, 32.90, 32.90, 3, 8); -- Hot Roll
 
 -- Inserir usuários de teste
 INSERT INTO usuario (nome, email, senha, role, ativo, data_criacao, restaurante_id) VALUES
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@DisplayName("Testes da carga única por chave nos caches")
+class CacheCoalescidoTest {
+
+    private static final int LEITORES = 8;
+
+    private ExecutorService executor;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(LEITORES);
+        cargas = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única carga para leituras simultâneas da mesma chave ausente")
+    void should_LoadOnce_When_ConcurrentReadsMissSameKey() throws Exception {
+        CacheCoalescido cache = cache(0);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        List<Future<List<String>>> leituras = new ArrayList<>();
+
+        for (int i = 0; i < LEITORES; i++) {
+            leituras.add(executor.submit(() -> cache.get(1L, () -> {
+                liberarCarga.await();
+                return carregar("Pizza");
+            })));
+        }
+        aguardarEsperas(cache, LEITORES - 1);
+        liberarCarga.countDown();
+
+        List<String> primeiro = leituras.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> leitura : leituras) {
+            assertSame(primeiro, leitura.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, cargas.get());
+        assertEquals(LEITORES - 1, cache.esperas());
+        assertSame(primeiro, cache.get(1L, () -> carregar("Outra")));
+    }
+
+    @Test
+    @DisplayName("Deve repassar o erro da carga a quem esperava por ela")
+    void should_ShareFailure_When_LoadFails() throws Exception {
+        CacheCoalescido cache = cache(0);
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+
+        Future<Object> primeira = executor.submit(() -> cache.get(1L, () -> {
+            cargaIniciada.countDown();
+            liberarCarga.await();
+            throw new IllegalStateException("banco fora");
+        }));
+        cargaIniciada.await(5, TimeUnit.SECONDS);
+        Future<Object> segunda = executor.submit(() -> cache.get(1L, () -> carregar("Pizza")));
+        aguardarEsperas(cache, 1);
+        liberarCarga.countDown();
+
+        for (Future<Object> leitura : List.of(primeira, segunda)) {
+            Exception erro = assertThrows(Exception.class, () -> leitura.get(5, TimeUnit.SECONDS));
+            assertEquals("banco fora", raiz(erro).getMessage());
+        }
+        assertEquals(0, cargas.get());
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a carga em andamento quando a chave é removida")
+    void should_NotStoreLoad_When_KeyIsEvictedWhileLoading() {
+        CacheCoalescido cache = cache(0);
+
+        List<String> lido = cache.get(1L, () -> {
+            cache.evict(1L);
+            return carregar("Pizza");
+        });
+
+        assertEquals(List.of("Pizza"), lido);
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a entrada antiga na primeira leitura e manter o valor para as demais")
+    void should_RefreshAhead_When_EntryIsOlderThanRefreshAge() throws Exception {
+        CacheCoalescido cache = cache(1);
+        cache.get(1L, () -> carregar("Pizza"));
+        Thread.sleep(5);
+
+        assertEquals(List.of("Pizza nova"), cache.get(1L, () -> carregar("Pizza nova")));
+        assertEquals(List.of("Pizza nova"), cache.get(1L, List.class));
+        assertEquals(2, cargas.get());
+        assertEquals(1, cache.recargas());
+    }
+
+    private CacheCoalescido cache(long recargaAntecipada) {
+        Cache local = new CaffeineCache("produtos-restaurante", Caffeine.newBuilder().maximumSize(100).build());
+        return new CacheCoalescido(local, recargaAntecipada);
+    }
+
+    private List<String> carregar(String nome) {
+        cargas.incrementAndGet();
+        return List.of(nome);
+    }
+
+    private void aguardarEsperas(CacheCoalescido cache, long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.esperas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals(esperadas, cache.esperas());
+    }
+
+    private Throwable raiz(Throwable erro) {
+        while (erro.getCause() != null) {
+            erro = erro.getCause();
+        }
+        return erro;
+    }
+}
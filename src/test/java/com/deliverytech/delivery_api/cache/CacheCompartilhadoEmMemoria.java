@@ -0,0 +1,76 @@
+package com.deliverytech.delivery_api.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+// Substituto do Redis nos testes: uma única instância faz o papel do servidor compartilhado
+// pelos gerenciadores de cache de várias "instâncias" da aplicação. As mensagens são entregues na hora.
+// Fora do ar, toda operação falha como o Redis sem conexão
+class CacheCompartilhadoEmMemoria implements CacheCompartilhado {
+
+    private final Map<String, byte[]> valores = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> ouvintes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger publicadas = new AtomicInteger();
+    private volatile boolean foraDoAr;
+
+    @Override
+    public byte[] buscar(String chave) {
+        verificar();
+        return valores.get(chave);
+    }
+
+    @Override
+    public void gravar(String chave, byte[] valor, Duration ttl) {
+        verificar();
+        valores.put(chave, valor);
+    }
+
+    @Override
+    public void remover(String chave) {
+        verificar();
+        valores.remove(chave);
+    }
+
+    @Override
+    public void removerPorPrefixo(String prefixo) {
+        verificar();
+        valores.keySet().removeIf(chave -> chave.startsWith(prefixo));
+    }
+
+    @Override
+    public void publicar(String mensagem) {
+        verificar();
+        publicadas.incrementAndGet();
+        ouvintes.forEach(ouvinte -> ouvinte.accept(mensagem));
+    }
+
+    @Override
+    public void assinar(Consumer<String> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    int tamanho() {
+        return valores.size();
+    }
+
+    int publicadas() {
+        return publicadas.get();
+    }
+
+    void setForaDoAr(boolean foraDoAr) {
+        this.foraDoAr = foraDoAr;
+    }
+
+    private void verificar() {
+        if (foraDoAr) {
+            throw new DataAccessResourceFailureException("L2 fora do ar");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Duas instâncias da aplicação, cada uma com seu gerenciador, compartilhando o mesmo L2
+@DisplayName("Testes do cache em camadas")
+class CacheEmCamadasTest {
+
+    private CacheCompartilhadoEmMemoria compartilhado;
+    private Cache instanciaA;
+    private Cache instanciaB;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        compartilhado = new CacheCompartilhadoEmMemoria();
+        instanciaA = gerenciador().getCache("produtos");
+        instanciaB = gerenciador().getCache("produtos");
+        cargas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve servir na outra instância, pelo L2, o valor carregado por uma delas")
+    void should_ServeFromSharedLayer_When_OtherInstanceLoaded() {
+        ProdutoResponseDTO carregado = instanciaA.get(1L, () -> carregar("Pizza"));
+        ProdutoResponseDTO lido = instanciaB.get(1L, () -> carregar("Outra"));
+
+        assertEquals("Pizza", lido.getNome());
+        assertNotSame(carregado, lido);
+        assertEquals(1, cargas.get());
+        assertEquals(1, compartilhado.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a chave no L1 das outras instâncias quando ela é removida")
+    void should_InvalidateOtherInstances_When_KeyIsEvicted() {
+        instanciaA.get(1L, () -> carregar("Pizza"));
+        instanciaB.get(1L, () -> carregar("Pizza"));
+
+        instanciaA.evict(1L);
+
+        assertNull(instanciaB.get(1L));
+        assertEquals("Pizza nova", instanciaB.get(1L, () -> carregar("Pizza nova")).getNome());
+        assertEquals("Pizza nova", instanciaA.get(1L, ProdutoResponseDTO.class).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve limpar o cache em todas as instâncias")
+    void should_ClearAllInstances_When_CacheIsCleared() {
+        instanciaA.put(1L, List.of(produto("Pizza")));
+        instanciaB.get(1L);
+        instanciaB.put(2L, produto("Lasanha"));
+
+        instanciaB.clear();
+
+        assertNull(instanciaA.get(1L));
+        assertNull(instanciaA.get(2L));
+        assertEquals(0, compartilhado.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve carregar e recarregar pelo cache coalescido sem avisar as outras instâncias")
+    void should_NotInvalidateOtherInstances_When_CoalescedCacheLoads() throws Exception {
+        CacheCoalescido coalescidoA = new CacheCoalescido(instanciaA, 1);
+
+        coalescidoA.get(2L, () -> carregar("Lasanha"));
+        Thread.sleep(5);
+        coalescidoA.get(2L, () -> carregar("Lasanha nova"));
+
+        assertEquals(1, coalescidoA.recargas());
+        assertEquals(0, compartilhado.publicadas());
+        assertEquals("Lasanha nova", new CacheCoalescido(instanciaB, 0).get(2L, ProdutoResponseDTO.class).getNome());
+
+        coalescidoA.put(2L, produto("Lasanha alterada"));
+        assertEquals(1, compartilhado.publicadas());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o L1 e seguir para o banco quando o L2 está fora do ar")
+    void should_FallBackToLocalAndLoader_When_SharedLayerFails() {
+        instanciaA.get(1L, () -> carregar("Pizza"));
+        compartilhado.setForaDoAr(true);
+
+        instanciaA.evict(1L);
+
+        assertNull(instanciaA.get(1L));
+        assertEquals("Pizza nova", instanciaA.get(1L, () -> carregar("Pizza nova")).getNome());
+        assertEquals("Pizza nova", instanciaA.get(1L, ProdutoResponseDTO.class).getNome());
+        assertEquals(2, cargas.get());
+        // remover, avisar, buscar (evict e get) e buscar e gravar (carga)
+        assertEquals(5, ((CacheEmCamadas) instanciaA).falhasCompartilhado());
+    }
+
+    private CacheEmCamadasManager gerenciador() {
+        CacheEmCamadasManager gerenciador = new CacheEmCamadasManager(
+            Map.of("produtos", Caffeine.newBuilder().maximumSize(100).build()), compartilhado, Duration.ofMinutes(10));
+        gerenciador.afterPropertiesSet();
+        return gerenciador;
+    }
+
+    private ProdutoResponseDTO carregar(String nome) {
+        cargas.incrementAndGet();
+        return produto(nome);
+    }
+
+    private ProdutoResponseDTO produto(String nome) {
+        return new ProdutoResponseDTO(1L, nome, "Descrição", BigDecimal.TEN, "Pizza", 1L, true, 0L);
+    }
+}
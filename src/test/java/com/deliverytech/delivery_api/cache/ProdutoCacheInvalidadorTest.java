@@ -0,0 +1,81 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+
+@DisplayName("Testes da remoção seletiva dos caches do catálogo")
+class ProdutoCacheInvalidadorTest {
+
+    private CacheManager cacheManager;
+    private ProdutoCacheInvalidador invalidador;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager(new MockEnvironment());
+        invalidador = new ProdutoCacheInvalidador(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Deve manter separados o produto e o cardápio do restaurante de mesmo id")
+    void should_KeepEntriesApart_When_ProductAndRestaurantShareId() {
+        cache(ProdutoCacheInvalidador.PRODUTO).put(5L, produto(5L, 9L, "Pizza", "Pizza Margherita"));
+        cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).put(5L, List.of());
+
+        invalidador.produtoAlteradoAposCommit(null, produto(7L, 9L, "Lanche", "X-Burger"));
+
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTO).get(5L));
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).get(5L));
+    }
+
+    @Test
+    @DisplayName("Deve remover só as entradas que dependem do produto alterado")
+    void should_EvictOnlyDependentEntries_When_ProductChanges() {
+        ProdutoResponseDTO antes = produto(5L, 1L, "Pizza", "Pizza Margherita");
+        ProdutoResponseDTO depois = produto(5L, 1L, "Italiana", "Pizza Calabresa");
+        cache(ProdutoCacheInvalidador.PRODUTO).put(5L, antes);
+        cache(ProdutoCacheInvalidador.PRODUTO).put(6L, produto(6L, 1L, "Pizza", "Pizza Portuguesa"));
+        cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).put(1L, List.of(antes));
+        cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).put(2L, List.of());
+        cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).put("Pizza", List.of(antes));
+        cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).put("Italiana", List.of());
+        cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).put("Lanche", List.of());
+        cache(ProdutoCacheInvalidador.PRODUTOS_NOME).put("margherita", List.of(antes));
+        cache(ProdutoCacheInvalidador.PRODUTOS_NOME).put("CALABRESA", List.of());
+        cache(ProdutoCacheInvalidador.PRODUTOS_NOME).put("burger", List.of());
+
+        invalidador.produtoAlteradoAposCommit(antes, depois);
+
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTO).get(5L));
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTO).get(6L));
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).get(1L));
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTOS_RESTAURANTE).get(2L));
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).get("Pizza"));
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).get("Italiana"));
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTOS_CATEGORIA).get("Lanche"));
+        // A busca antiga o continha e a nova passa a contê-lo
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTOS_NOME).get("margherita"));
+        assertNull(cache(ProdutoCacheInvalidador.PRODUTOS_NOME).get("CALABRESA"));
+        assertNotNull(cache(ProdutoCacheInvalidador.PRODUTOS_NOME).get("burger"));
+    }
+
+    private Cache cache(String nome) {
+        return cacheManager.getCache(nome);
+    }
+
+    private ProdutoResponseDTO produto(Long id, Long restauranteId, String categoria, String nome) {
+        return new ProdutoResponseDTO(id, nome, "Descrição", BigDecimal.TEN, categoria, restauranteId, true, 0L);
+    }
+}
@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import redis.embedded.RedisServer;
+
+// L2 num Redis de verdade, iniciado pelo teste numa porta livre; duas "instâncias" da aplicação
+// compartilham o servidor, cada uma com sua conexão e seu assinante do canal de avisos
+@DisplayName("Testes do L2 dos caches no Redis")
+class RedisCacheCompartilhadoIT {
+
+    private static RedisServer servidor;
+    private static LettuceConnectionFactory conexoes;
+
+    private RedisCacheCompartilhado redisA;
+    private RedisCacheCompartilhado redisB;
+
+    @BeforeAll
+    static void iniciarServidor() throws IOException {
+        int porta;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            porta = socket.getLocalPort();
+        }
+        servidor = new RedisServer(porta);
+        servidor.start();
+        conexoes = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", porta));
+        conexoes.afterPropertiesSet();
+        conexoes.start();
+    }
+
+    @AfterAll
+    static void pararServidor() throws IOException {
+        conexoes.destroy();
+        servidor.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection conexao = conexoes.getConnection()) {
+            conexao.serverCommands().flushAll();
+        }
+        redisA = new RedisCacheCompartilhado(conexoes);
+        redisB = new RedisCacheCompartilhado(conexoes);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        redisA.parar();
+        redisB.parar();
+    }
+
+    @Test
+    @DisplayName("Deve gravar, buscar e remover por prefixo percorrendo as chaves com SCAN")
+    void should_RemoveOnlyPrefixedKeys_When_RemovingByPrefix() {
+        byte[] valor = "Pizza".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 2500; i++) {
+            redisA.gravar("cache:produto::" + i, valor, Duration.ofMinutes(1));
+        }
+        redisA.gravar("cache:restaurantes::1", valor, Duration.ofMinutes(1));
+
+        assertArrayEquals(valor, redisB.buscar("cache:produto::42"));
+
+        redisA.removerPorPrefixo("cache:produto::");
+
+        assertNull(redisB.buscar("cache:produto::42"));
+        assertNull(redisB.buscar("cache:produto::2499"));
+        assertArrayEquals(valor, redisB.buscar("cache:restaurantes::1"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o L1 da outra instância pelo pub/sub quando a chave é removida")
+    void should_InvalidateOtherInstance_When_KeyIsEvictedThroughRedis() throws Exception {
+        Cache instanciaA = gerenciador(redisA).getCache("produtos");
+        Cache instanciaB = gerenciador(redisB).getCache("produtos");
+        aguardarAssinatura(redisB);
+
+        instanciaA.put(1L, produto("Pizza"));
+        assertEquals("Pizza", instanciaB.get(1L, ProdutoResponseDTO.class).getNome());
+
+        instanciaA.evict(1L);
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (instanciaB.get(1L) != null && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        assertNull(instanciaB.get(1L));
+    }
+
+    // A assinatura do canal é concluída em segundo plano; avisos anteriores a ela se perdem
+    private void aguardarAssinatura(RedisCacheCompartilhado redis) throws InterruptedException {
+        CountDownLatch recebida = new CountDownLatch(1);
+        String sonda = new Invalidacao("sonda", "inexistente", null).codificar();
+        redis.assinar(mensagem -> {
+            if (mensagem.equals(sonda)) {
+                recebida.countDown();
+            }
+        });
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!recebida.await(50, TimeUnit.MILLISECONDS) && System.nanoTime() < limite) {
+            redis.publicar(sonda);
+        }
+        assertTrue(recebida.getCount() == 0, "Assinatura do canal de avisos não concluída");
+    }
+
+    private CacheEmCamadasManager gerenciador(RedisCacheCompartilhado redis) {
+        CacheEmCamadasManager gerenciador = new CacheEmCamadasManager(
+            Map.of("produtos", Caffeine.newBuilder().maximumSize(100).build()), redis, Duration.ofMinutes(10));
+        gerenciador.afterPropertiesSet();
+        return gerenciador;
+    }
+
+    private ProdutoResponseDTO produto(String nome) {
+        return new ProdutoResponseDTO(1L, nome, "Descrição", BigDecimal.TEN, "Pizza", 1L, true, 0L);
+    }
+}
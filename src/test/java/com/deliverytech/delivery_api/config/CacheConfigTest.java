@@ -0,0 +1,59 @@
+package com.deliverytech.delivery_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@DisplayName("Testes da configuração dos caches locais")
+class CacheConfigTest {
+
+    private final CacheManager cacheManager = new CacheConfig().cacheManager(new MockEnvironment()
+        .withProperty("cache.produto.spec", "maximumSize=100,expireAfterWrite=10m")
+        .withProperty("cache.restaurantes.spec", "maximumSize=10,expireAfterAccess=1m")
+        .withProperty("cache.pedidos.spec", "maximumSize=10,recordStats"));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Deve manter o cache no tamanho máximo e preservar as entradas frequentes")
+    void should_KeepFrequentEntries_When_CacheIsFull() {
+        org.springframework.cache.Cache produtos = cacheManager.getCache("produto");
+        Cache<Object, Object> nativo = (Cache<Object, Object>) produtos.getNativeCache();
+
+        // A frequência de acesso só é registrada a partir da metade do tamanho máximo
+        for (int i = 0; i < 99; i++) {
+            produtos.put("inicial-" + i, i);
+        }
+        produtos.put("frequente", 1);
+        // Leituras e remoções são aplicadas de forma assíncrona; cleanUp as aplica antes de seguir
+        for (int i = 0; i < 20; i++) {
+            produtos.get("frequente");
+            nativo.cleanUp();
+        }
+        // Buscas com chaves que não se repetem, como nomes aleatórios
+        for (int i = 0; i < 1000; i++) {
+            produtos.put("unica-" + i, i);
+            nativo.cleanUp();
+        }
+
+        assertEquals(100, nativo.estimatedSize());
+        assertNotNull(produtos.get("frequente"));
+        CacheStats estatisticas = nativo.stats();
+        assertEquals(21, estatisticas.hitCount());
+        assertEquals(1000, estatisticas.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar caches não configurados")
+    void should_ReturnNull_When_CacheIsNotConfigured() {
+        assertNull(cacheManager.getCache("desconhecido"));
+        assertNotNull(cacheManager.getCache("pedidos"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.deliverytech.delivery_api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.config.TestSecurityConfig;
+import com.deliverytech.delivery_api.dto.RestauranteDTO;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.ProdutoServiceImpl;
+import com.deliverytech.delivery_api.service.RestauranteServiceImpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// As alterações ficam na transação do teste; os caches são esvaziados para que nada dela fique guardado
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@Transactional
+@DisplayName("Testes das requisições condicionais (ETag) do catálogo")
+class CatalogoETagIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+
+    @Autowired
+    private ProdutoServiceImpl produtoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        limparCaches();
+        restaurante = restauranteRepository.save(Restaurante.builder()
+            .nome("Cantina ETag")
+            .categoria("Italiana")
+            .endereco("Rua das Flores, 10")
+            .telefone("11999990000")
+            .taxaEntrega(BigDecimal.valueOf(5))
+            .build());
+        produto = produtoRepository.save(Produto.builder()
+            .nome("Lasanha")
+            .categoria("Massas")
+            .preco(BigDecimal.valueOf(40))
+            .disponivel(true)
+            .restaurante(restaurante)
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparCaches();
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem corpo e só com a consulta da versão quando o produto não mudou")
+    void should_ReturnNotModifiedWithOneQuery_When_ProductIsUnchanged() throws Exception {
+        String url = "/api/produtos/" + produto.getId();
+        String etag = etag(url);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve trocar o ETag do produto e do cardápio quando o produto é alterado")
+    void should_ChangeEtags_When_ProductChanges() throws Exception {
+        String urlProduto = "/api/produtos/" + produto.getId();
+        String urlCardapio = "/api/produtos/" + restaurante.getId() + "/produtos";
+        String etagProduto = etag(urlProduto);
+        String etagCardapio = etag(urlCardapio);
+        limparCaches();
+
+        produtoService.alterarDisponibilidade(produto.getId(), false);
+        entityManager.clear();
+
+        String novoEtagProduto = mockMvc.perform(get(urlProduto).header(HttpHeaders.IF_NONE_MATCH, etagProduto))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String novoEtagCardapio = mockMvc.perform(get(urlCardapio).header(HttpHeaders.IF_NONE_MATCH, etagCardapio))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etagProduto, novoEtagProduto);
+        assertNotEquals(etagCardapio, novoEtagCardapio);
+        mockMvc.perform(get(urlCardapio).header(HttpHeaders.IF_NONE_MATCH, novoEtagCardapio))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 ao restaurante e à listagem até que um restaurante seja alterado")
+    void should_ReturnNotModifiedUntilRestaurantChanges_When_EtagMatches() throws Exception {
+        String urlRestaurante = "/api/restaurantes/" + restaurante.getId();
+        String urlListagem = "/api/restaurantes?categoria=Italiana&size=5";
+        String etagRestaurante = etag(urlRestaurante);
+        String etagListagem = etag(urlListagem);
+        mockMvc.perform(get(urlRestaurante).header(HttpHeaders.IF_NONE_MATCH, etagRestaurante))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get(urlListagem).header(HttpHeaders.IF_NONE_MATCH, etagListagem))
+            .andExpect(status().isNotModified());
+        // Outra página da mesma listagem tem outro ETag
+        mockMvc.perform(get("/api/restaurantes?categoria=Italiana&size=5&page=1")
+                .header(HttpHeaders.IF_NONE_MATCH, etagListagem))
+            .andExpect(status().isOk());
+
+        RestauranteDTO alteracao = new RestauranteDTO();
+        alteracao.setNome(restaurante.getNome());
+        alteracao.setCategoria(restaurante.getCategoria());
+        alteracao.setEndereco(restaurante.getEndereco());
+        alteracao.setTelefone(restaurante.getTelefone());
+        alteracao.setTaxaEntrega(BigDecimal.valueOf(7));
+        restauranteService.atualizarRestaurante(restaurante.getId(), alteracao);
+        entityManager.clear();
+
+        mockMvc.perform(get(urlRestaurante).header(HttpHeaders.IF_NONE_MATCH, etagRestaurante))
+            .andExpect(status().isOk());
+        mockMvc.perform(get(urlListagem).header(HttpHeaders.IF_NONE_MATCH, etagListagem))
+            .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void limparCaches() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.deliverytech.delivery_api.config.TestDataConfiguration;
 import com.deliverytech.delivery_api.config.TestSecurityConfig;
@@ -92,7 +94,7 @@ class PedidoControllerIT {
                 .content(objectMapper.writeValueAsString(pedidoDTO)))
             .andDo(print())
             .andExpect(status().isCreated())
-            .andExpect(jsonPath("$.data.id", notNullValue()))
+            .andExpect(jsonPath("$.data.id", isA(String.class)))
             .andExpect(jsonPath("$.data.status", is("PENDENTE")))
             .andExpect(jsonPath("$.data.valorTotal", is(59.80)))
             .andExpect(jsonPath("$.data.itens", hasSize(1)));
@@ -162,6 +164,13 @@ class PedidoControllerIT {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.success", is(true)))
             .andExpect(jsonPath("$.data", hasSize(greaterThan(0))));
+
+        mockMvc.perform(get("/api/pedidos/cliente/{id}/historico", cliente.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(greaterThan(0))))
+            .andExpect(jsonPath("$.content[0].enderecoEntrega", is("Rua das Flores, 123 - Centro")))
+            .andExpect(jsonPath("$.page.number", is(0)))
+            .andExpect(jsonPath("$.page.totalElements", greaterThan(0)));
            
     }
 
@@ -204,7 +213,116 @@ class PedidoControllerIT {
                 .content("\"CONFIRMADO\""))
             .andDo(print())
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.data.status", is("CONFIRMADO")));
+            .andExpect(jsonPath("$.data.status", is("CONFIRMADO")))
+            .andExpect(jsonPath("$.data.enderecoEntrega", notNullValue()))
+            .andExpect(jsonPath("$.data.valorTotal", notNullValue()))
+            .andExpect(jsonPath("$.data.itens", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Deve paginar pedidos por cursor sem informar total")
+    void should_PageByCursor_When_CursorModeRequested() throws Exception {
+        // Given - três pedidos
+        Cliente cliente = clienteRepository.findAll().stream().filter(Cliente::isAtivo).findFirst().orElseThrow();
+        Restaurante restaurante = restauranteRepository.findAll().stream().filter(Restaurante::isAtivo).findFirst().orElseThrow();
+        Produto produto = produtoRepository.findAll().stream()
+            .filter(p -> p.isDisponivel() && p.getRestaurante().getId().equals(restaurante.getId()))
+            .findFirst().orElseThrow();
+
+        ItemPedidoDTO itemDTO = new ItemPedidoDTO();
+        itemDTO.setProdutoId(produto.getId());
+        itemDTO.setQuantidade(1);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(cliente.getId());
+        pedidoDTO.setRestauranteId(restaurante.getId());
+        pedidoDTO.setEnderecoEntrega("Rua das Flores, 123 - Centro");
+        pedidoDTO.setCep("01234-567");
+        pedidoDTO.setFormaPagamento("PIX");
+        pedidoDTO.setItens(List.of(itemDTO));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/pedidos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pedidoDTO)))
+                .andExpect(status().isCreated());
+        }
+
+        String response = mockMvc.perform(get("/api/pedidos")
+                .param("paginacao", "CURSOR")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(2)))
+            .andExpect(jsonPath("$.cursor.hasNext", is(true)))
+            .andExpect(jsonPath("$.page").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+
+        String proximo = objectMapper.readTree(response).get("cursor").get("next").asText();
+
+        // When & Then
+        mockMvc.perform(get("/api/pedidos")
+                .param("paginacao", "CURSOR")
+                .param("size", "2")
+                .param("cursor", proximo))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.cursor.hasNext", is(false)))
+            .andExpect(jsonPath("$.cursor.next", nullValue()));
+
+        mockMvc.perform(get("/api/pedidos")
+                .param("paginacao", "CURSOR")
+                .param("cursor", "invalido"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve exportar pedidos do período como arquivo CSV e recusar período invertido")
+    void should_ExportOrdersAsCsv_When_ValidPeriod() throws Exception {
+        // Given
+        Cliente cliente = clienteRepository.findAll().stream().filter(Cliente::isAtivo).findFirst().orElseThrow();
+        Restaurante restaurante = restauranteRepository.findAll().stream().filter(Restaurante::isAtivo).findFirst().orElseThrow();
+        Produto produto = produtoRepository.findAll().stream()
+            .filter(p -> p.isDisponivel() && p.getRestaurante().getId().equals(restaurante.getId()))
+            .findFirst().orElseThrow();
+
+        ItemPedidoDTO itemDTO = new ItemPedidoDTO();
+        itemDTO.setProdutoId(produto.getId());
+        itemDTO.setQuantidade(1);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(cliente.getId());
+        pedidoDTO.setRestauranteId(restaurante.getId());
+        pedidoDTO.setEnderecoEntrega("Rua das Flores, 123 - Centro");
+        pedidoDTO.setCep("01234-567");
+        pedidoDTO.setFormaPagamento("PIX");
+        pedidoDTO.setItens(List.of(itemDTO));
+
+        mockMvc.perform(post("/api/pedidos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pedidoDTO)))
+            .andExpect(status().isCreated());
+        String hoje = LocalDate.now().toString();
+
+        // When
+        MvcResult exportacao = mockMvc.perform(get("/api/pedidos/exportacao")
+                .param("dataInicio", hoje)
+                .param("dataFim", hoje)
+                .param("formato", "CSV"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(exportacao))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string("Content-Disposition", containsString("pedidos-" + hoje + "-" + hoje + ".csv")))
+            .andExpect(content().string(startsWith("id,clienteId,restauranteId")))
+            .andExpect(content().string(containsString("\"Rua das Flores, 123 - Centro\"")));
+
+        mockMvc.perform(get("/api/pedidos/exportacao")
+                .param("dataInicio", hoje)
+                .param("dataFim", LocalDate.now().minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
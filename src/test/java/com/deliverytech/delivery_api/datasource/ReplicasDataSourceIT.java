@@ -0,0 +1,160 @@
+package com.deliverytech.delivery_api.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.config.TestSecurityConfig;
+import com.deliverytech.delivery_api.service.VersoesCatalogoService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// As réplicas são dois bancos H2 em memória separados do primário (testdb); o nome do banco
+// retornado pela consulta mostra para onde cada transação foi encaminhada
+@SpringBootTest(properties = {
+    "datasource.replicas.enabled=true",
+    "datasource.replicas.urls=jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:replica2;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@DisplayName("Testes de roteamento das leituras para as réplicas")
+class ReplicasDataSourceIT {
+
+    private static final String BANCO_ATUAL = "SELECT DATABASE()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VersoesCatalogoService versoesCatalogoService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @Test
+    @DisplayName("Deve alternar as réplicas nas transações só de leitura e usar o primário nas demais")
+    void should_RouteReadOnlyTransactionsToReplicas_When_ReplicasAreUp() {
+        double usosAntes = usosReplica1();
+        Set<String> bancosLeitura = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            bancosLeitura.add(bancoNaTransacao(true));
+        }
+
+        assertEquals(Set.of("REPLICA1", "REPLICA2"), bancosLeitura);
+        assertEquals("TESTDB", bancoNaTransacao(false));
+        assertEquals(2.0, usosReplica1() - usosAntes);
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário numa transação só de leitura quando a leitura exige o primário")
+    void should_ReadFromPrimary_When_PrimaryIsRequired() {
+        assertEquals("TESTDB", RoteamentoLeitura.noPrimario(() -> bancoNaTransacao(true)));
+    }
+
+    @Test
+    @DisplayName("Deve tirar do rodízio a réplica que não conecta e voltar ao primário")
+    void should_FallBackToPrimary_When_ReplicaIsDown() throws SQLException {
+        HikariDataSource primario = pool("primario-teste", "jdbc:h2:mem:testdb");
+        HikariDataSource fora = pool("replica-fora", "jdbc:h2:tcp://localhost:1/~/fora");
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+        try (ReplicasDataSource replicas = new ReplicasDataSource(primario, List.of(fora), registro, 60000)) {
+            assertEquals("TESTDB", banco(replicas));
+            assertEquals(0.0, registro.get("delivery.datasource.replica.disponivel").gauge().value());
+
+            // Fora do rodízio, a réplica não é mais tentada a cada conexão
+            assertEquals("TESTDB", banco(replicas));
+            replicas.verificar();
+            assertEquals(0.0, registro.get("delivery.datasource.replica.disponivel").gauge().value());
+            assertEquals(2.0, registro.get("delivery.datasource.leitura.conexoes")
+                .tag("destino", "primario").counter().count());
+        } finally {
+            primario.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler o ETag da listagem na mesma réplica que o conteúdo")
+    void should_ReadListingEtagFromSameReplica_When_ListingIsRead() {
+        // Réplicas em pontos diferentes da replicação: cada uma tem outra versão da listagem
+        prepararReplica("jdbc:h2:mem:replica1", 1);
+        prepararReplica("jdbc:h2:mem:replica2", 5);
+
+        Map<String, Set<String>> bancosPorEtag = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            VersoesCatalogoService.Listagem<String> listagem = versoesCatalogoService.listagem(Map.of(),
+                etag -> false, () -> jdbcTemplate.queryForObject(BANCO_ATUAL, String.class));
+            bancosPorEtag.computeIfAbsent(listagem.etag(), etag -> new HashSet<>()).add(listagem.conteudo());
+        }
+
+        assertEquals(Set.of(Set.of("REPLICA1"), Set.of("REPLICA2")), new HashSet<>(bancosPorEtag.values()));
+    }
+
+    private void prepararReplica(String url, long versao) {
+        try (HikariDataSource replica = pool("preparar-replica", url)) {
+            JdbcTemplate comandos = new JdbcTemplate(replica);
+            comandos.execute("CREATE TABLE IF NOT EXISTS restaurante (id BIGINT PRIMARY KEY, versao BIGINT)");
+            comandos.update("DELETE FROM restaurante");
+            comandos.update("INSERT INTO restaurante (id, versao) VALUES (1, ?)", versao);
+        }
+    }
+
+    private String bancoNaTransacao(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbcTemplate.queryForObject(BANCO_ATUAL, String.class));
+    }
+
+    private double usosReplica1() {
+        return meterRegistry.get("delivery.datasource.leitura.conexoes").tag("destino", "replica-1").counter().count();
+    }
+
+    private String banco(DataSource dataSource) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery(BANCO_ATUAL)) {
+            resultado.next();
+            return resultado.getString(1);
+        }
+    }
+
+    private HikariDataSource pool(String nome, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(nome);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("sa");
+        dataSource.setConnectionTimeout(250);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
@@ -0,0 +1,90 @@
+package com.deliverytech.delivery_api.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Testes do gerador de ids Snowflake")
+class SnowflakeIdGeneratorTest {
+
+    private static final Instant AGORA = Instant.parse("2025-06-15T14:30:00Z");
+
+    @Test
+    @DisplayName("Deve gerar ids únicos e crescentes")
+    void should_GenerateUniqueIncreasingIds_When_CalledRepeatedly() {
+        SnowflakeIdGenerator gerador = new SnowflakeIdGenerator(7, Clock.fixed(AGORA, ZoneOffset.UTC));
+        Set<Long> ids = new HashSet<>();
+
+        // Mais ids que a sequência de um milissegundo comporta
+        long anterior = -1;
+        for (int i = 0; i < 10000; i++) {
+            long id = gerador.proximoId();
+            assertTrue(id > anterior);
+            ids.add(id);
+            anterior = id;
+        }
+
+        assertEquals(10000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Deve codificar o instante de geração e o nó no id")
+    void should_EncodeTimestampAndNode_When_GeneratingId() {
+        long id = new SnowflakeIdGenerator(7, Clock.fixed(AGORA, ZoneOffset.UTC)).proximoId();
+
+        assertEquals(AGORA, SnowflakeIdGenerator.instante(id));
+        assertEquals(7, SnowflakeIdGenerator.no(id));
+    }
+
+    @Test
+    @DisplayName("Deve manter a ordem quando o relógio voltar")
+    void should_KeepOrdering_When_ClockMovesBackwards() {
+        MutableClock relogio = new MutableClock(AGORA);
+        SnowflakeIdGenerator gerador = new SnowflakeIdGenerator(1, relogio);
+
+        long antes = gerador.proximoId();
+        relogio.instante = AGORA.minusSeconds(5);
+        long depois = gerador.proximoId();
+
+        assertTrue(depois > antes);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar id de nó fora do intervalo")
+    void should_RejectNodeId_When_OutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NO + 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instante;
+
+        private MutableClock(Instant instante) {
+            this.instante = instante;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
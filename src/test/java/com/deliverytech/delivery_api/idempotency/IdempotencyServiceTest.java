@@ -0,0 +1,197 @@
+package com.deliverytech.delivery_api.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.deliverytech.delivery_api.exception.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+@DisplayName("Testes do serviço de idempotência")
+class IdempotencyServiceTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore(60000, 100);
+        idempotencyService = new IdempotencyService(store, new ObjectMapper().registerModule(new JavaTimeModule()), 5000);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve repetir a resposta armazenada sem executar a operação novamente")
+    void should_ReplayStoredResponse_When_KeyAlreadyCompleted() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        IdempotencyService.Resultado<PedidoResponseDTO> primeiro =
+            idempotencyService.executar("pedido:1:abc", "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+        IdempotencyService.Resultado<PedidoResponseDTO> repetido =
+            idempotencyService.executar("pedido:1:abc", "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+
+        assertEquals(1, execucoes.get());
+        assertFalse(primeiro.isRepetido());
+        assertTrue(repetido.isRepetido());
+        assertEquals(primeiro.getResposta().getId(), repetido.getResposta().getId());
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a requisição original quando a repetição chega durante o processamento")
+    void should_WaitForOriginal_When_RetryArrivesInFlight() throws Exception {
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        Future<IdempotencyService.Resultado<PedidoResponseDTO>> original = executor.submit(() ->
+            idempotencyService.executar("pedido:1:lento", "requisicao", PedidoResponseDTO.class, () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return criarPedido(execucoes);
+            }));
+
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        Future<IdempotencyService.Resultado<PedidoResponseDTO>> repeticao = executor.submit(() ->
+            idempotencyService.executar("pedido:1:lento", "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes)));
+
+        liberar.countDown();
+
+        assertFalse(original.get(5, TimeUnit.SECONDS).isRepetido());
+        assertTrue(repeticao.get(5, TimeUnit.SECONDS).isRepetido());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a mesma chave com conteúdo diferente")
+    void should_ThrowConflict_When_KeyReusedWithDifferentPayload() {
+        AtomicInteger execucoes = new AtomicInteger();
+        idempotencyService.executar("pedido:1:abc", "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+
+        assertThrows(ConflictException.class, () ->
+            idempotencyService.executar("pedido:1:abc", "outra", PedidoResponseDTO.class, () -> criarPedido(execucoes)));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave quando a operação falha")
+    void should_ReleaseKey_When_OperationFails() {
+        AtomicInteger execucoes = new AtomicInteger();
+
+        assertThrows(BusinessException.class, () ->
+            idempotencyService.executar("pedido:1:falha", "requisicao", PedidoResponseDTO.class, () -> {
+                throw new BusinessException("Restaurante não está disponível");
+            }));
+
+        IdempotencyService.Resultado<PedidoResponseDTO> resultado =
+            idempotencyService.executar("pedido:1:falha", "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+
+        assertFalse(resultado.isRepetido());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve manter o número de chaves dentro do limite configurado")
+    void should_EvictOldestKeys_When_StoreIsFull() {
+        AtomicInteger execucoes = new AtomicInteger();
+        for (int i = 0; i < 150; i++) {
+            idempotencyService.executar("pedido:1:" + i, "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+        }
+
+        assertEquals(100, store.tamanho());
+        assertTrue(store.buscar("pedido:1:0").isEmpty());
+        assertTrue(store.buscar("pedido:1:149").isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve manter a chave em processamento quando o armazenamento enche durante a requisição")
+    void should_KeepInFlightKey_When_StoreFillsWhileRunning() throws Exception {
+        store = new InMemoryIdempotencyStore(60000, 2);
+        idempotencyService = new IdempotencyService(store, new ObjectMapper().registerModule(new JavaTimeModule()), 5000);
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        Future<IdempotencyService.Resultado<PedidoResponseDTO>> original = executor.submit(() ->
+            idempotencyService.executar("pedido:1:lento", "requisicao", PedidoResponseDTO.class, () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return criarPedido(execucoes);
+            }));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        // Cada nova chave ocupa o lugar de uma concluída, nunca o da que está em processamento
+        for (int i = 0; i < 5; i++) {
+            idempotencyService.executar("pedido:1:" + i, "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+        }
+        liberar.countDown();
+        assertFalse(original.get(5, TimeUnit.SECONDS).isRepetido());
+
+        IdempotencyService.Resultado<PedidoResponseDTO> repeticao = idempotencyService.executar("pedido:1:lento",
+            "requisicao", PedidoResponseDTO.class, () -> criarPedido(execucoes));
+
+        assertTrue(repeticao.isRepetido());
+        assertEquals(6, execucoes.get());
+        assertEquals(2, store.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve recusar novas chaves quando todas as guardadas estão em processamento")
+    void should_RejectNewKey_When_StoreIsFullOfInFlightKeys() {
+        store = new InMemoryIdempotencyStore(60000, 2);
+        store.reservar("pedido:1:a", IdempotencyRecord.emProcessamento("a"));
+        store.reservar("pedido:1:b", IdempotencyRecord.emProcessamento("b"));
+
+        assertThrows(TooManyRequestsException.class,
+            () -> store.reservar("pedido:1:c", IdempotencyRecord.emProcessamento("c")));
+        assertTrue(store.buscar("pedido:1:a").isPresent());
+        assertTrue(store.buscar("pedido:1:b").isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve guardar o resultado mesmo quando a reserva não está mais no armazenamento")
+    void should_StoreResult_When_ReservationIsGone() {
+        store.reservar("pedido:1:abc", IdempotencyRecord.emProcessamento("abc"));
+        store.remover("pedido:1:abc");
+
+        store.concluir("pedido:1:abc", IdempotencyRecord.concluido("abc", "{}"));
+
+        assertTrue(store.buscar("pedido:1:abc").orElseThrow().isConcluido());
+    }
+
+    private PedidoResponseDTO criarPedido(AtomicInteger execucoes) {
+        PedidoResponseDTO pedido = new PedidoResponseDTO();
+        pedido.setId((long) execucoes.incrementAndGet());
+        return pedido;
+    }
+
+    private void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
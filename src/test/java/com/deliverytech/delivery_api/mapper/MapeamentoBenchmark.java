@@ -0,0 +1,72 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.deliverytech.delivery_api.config.ModelMapperConfig;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.Pedido;
+
+// Compara o mapeamento de uma listagem de pedidos pelo ModelMapper e pelo mapper gerado.
+// Não roda com os testes; para executar (o JMH precisa do classpath completo no processo filho):
+//   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+//       "-Dexec.args=-cp %classpath com.deliverytech.delivery_api.mapper.MapeamentoBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({ "1", "200" })
+    private int quantidadePedidos;
+
+    private List<Pedido> pedidos;
+    private ModelMapper modelMapper;
+    private PedidoMapper pedidoMapper;
+
+    @Setup
+    public void preparar() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+        pedidoMapper = Mappers.getMapper(PedidoMapper.class);
+        pedidos = new ArrayList<>();
+        for (long id = 1; id <= quantidadePedidos; id++) {
+            pedidos.add(MapeamentoDados.pedido(id, 3));
+        }
+    }
+
+    @Benchmark
+    public List<PedidoResponseDTO> modelMapper() {
+        return pedidos.stream()
+            .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+            .toList();
+    }
+
+    @Benchmark
+    public List<PedidoResponseDTO> mapperGerado() {
+        return pedidoMapper.toResponseDTOList(pedidos);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapeamentoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.deliverytech.delivery_api.mapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+// Entidades preenchidas usadas pelos testes e pelo benchmark dos mappers
+final class MapeamentoDados {
+
+    private MapeamentoDados() {
+    }
+
+    static Pedido pedido(Long id, int quantidadeItens) {
+        Restaurante restaurante = Restaurante.builder()
+            .id(7L)
+            .nome("Cantina")
+            .categoria("Italiana")
+            .endereco("Rua A, 1")
+            .telefone("11999999999")
+            .taxaEntrega(new BigDecimal("5.00"))
+            .avaliacao(new BigDecimal("4.5"))
+            .tempoEntrega(30)
+            .build();
+        Cliente cliente = Cliente.builder()
+            .id(15L)
+            .nome("Maria")
+            .email("maria@email.com")
+            .telefone("11988888888")
+            .endereco("Rua B, 2")
+            .build();
+
+        Pedido pedido = Pedido.builder()
+            .id(id)
+            .dataPedido(LocalDateTime.of(2024, 6, 15, 14, 30))
+            .enderecoEntrega("Rua B, 2")
+            .subtotal(new BigDecimal("59.90"))
+            .taxaEntrega(new BigDecimal("5.00"))
+            .valorTotal(new BigDecimal("64.90"))
+            .observacoes("Entregar na portaria")
+            .cep("01234-567")
+            .formaPagamento("PIX")
+            .status(StatusPedido.CONFIRMADO)
+            .cliente(cliente)
+            .restaurante(restaurante)
+            .build();
+
+        List<ItemPedido> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = Produto.builder()
+                .id(100L + i)
+                .nome("Produto " + i)
+                .descricao("Descrição " + i)
+                .categoria("Pizzas")
+                .preco(new BigDecimal("19.90"))
+                .disponivel(true)
+                .restaurante(restaurante)
+                .build();
+            itens.add(ItemPedido.builder()
+                .id(1000L + i)
+                .pedido(pedido)
+                .produto(produto)
+                .quantidade(i + 1)
+                .precoUnitario(produto.getPreco())
+                .subtotal(produto.getPreco().multiply(BigDecimal.valueOf(i + 1)))
+                .build());
+        }
+        pedido.setItens(itens);
+        return pedido;
+    }
+}
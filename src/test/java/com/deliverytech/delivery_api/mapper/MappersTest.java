@@ -0,0 +1,121 @@
+package com.deliverytech.delivery_api.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+import com.deliverytech.delivery_api.config.ModelMapperConfig;
+import com.deliverytech.delivery_api.dto.ClienteDTO;
+import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ProdutoDTO;
+import com.deliverytech.delivery_api.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.dto.RestauranteDTO;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+
+// Os mappers gerados devem produzir o mesmo resultado que o ModelMapper configurado em ModelMapperConfig
+@DisplayName("Testes dos mappers gerados em tempo de compilação")
+class MappersTest {
+
+    private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+
+    private final ClienteMapper clienteMapper = Mappers.getMapper(ClienteMapper.class);
+    private final ProdutoMapper produtoMapper = Mappers.getMapper(ProdutoMapper.class);
+    private final RestauranteMapper restauranteMapper = Mappers.getMapper(RestauranteMapper.class);
+    private final PedidoMapper pedidoMapper = Mappers.getMapper(PedidoMapper.class);
+
+    @Test
+    @DisplayName("Deve mapear as entidades para os DTOs de resposta como o ModelMapper")
+    void should_MapResponsesLikeModelMapper_When_MappingEntities() {
+        Pedido pedido = MapeamentoDados.pedido(1L, 3);
+        Restaurante restaurante = pedido.getRestaurante();
+        Cliente cliente = pedido.getCliente();
+        Produto produto = pedido.getItens().get(0).getProduto();
+
+        assertThat(pedidoMapper.toResponseDTO(pedido)).isEqualTo(comIdsDasAssociacoes(pedido));
+        assertThat(restauranteMapper.toResponseDTO(restaurante))
+            .isEqualTo(modelMapper.map(restaurante, RestauranteResponseDTO.class));
+        assertThat(clienteMapper.toResponseDTO(cliente)).isEqualTo(modelMapper.map(cliente, ClienteResponseDTO.class));
+        assertThat(produtoMapper.toResponseDTO(produto)).isEqualTo(modelMapper.map(produto, ProdutoResponseDTO.class));
+    }
+
+    @Test
+    @DisplayName("Deve criar as entidades a partir dos DTOs de entrada como o ModelMapper")
+    void should_CreateEntitiesLikeModelMapper_When_MappingRequests() {
+        RestauranteDTO restauranteDTO = new RestauranteDTO();
+        restauranteDTO.setNome("Cantina");
+        restauranteDTO.setCategoria("Italiana");
+        restauranteDTO.setEndereco("Rua A, 1");
+        restauranteDTO.setTelefone("11999999999");
+        restauranteDTO.setTempoEntrega(30);
+
+        ProdutoDTO produtoDTO = new ProdutoDTO();
+        produtoDTO.setNome("Pizza");
+        produtoDTO.setDescricao("Margherita");
+        produtoDTO.setPreco(new BigDecimal("42.50"));
+        produtoDTO.setCategoria("Pizzas");
+        produtoDTO.setRestauranteId(7L);
+        produtoDTO.setDisponivel(true);
+        produtoDTO.setEstoque(10);
+
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setNome("Maria");
+        clienteDTO.setEmail("maria@email.com");
+        clienteDTO.setTelefone("11988888888");
+        clienteDTO.setEndereco("Rua B, 2");
+
+        // A taxa de entrega nula no DTO sobrescreve o valor padrão da entidade nos dois mapeamentos
+        assertThat(restauranteMapper.toEntity(restauranteDTO))
+            .usingRecursiveComparison()
+            .isEqualTo(modelMapper.map(restauranteDTO, Restaurante.class));
+        assertThat(produtoMapper.toEntity(produtoDTO))
+            .usingRecursiveComparison()
+            .isEqualTo(modelMapper.map(produtoDTO, Produto.class));
+        assertThat(clienteMapper.toEntity(clienteDTO))
+            .usingRecursiveComparison()
+            .ignoringFields("dataCriacao")
+            .isEqualTo(modelMapper.map(clienteDTO, Cliente.class));
+    }
+
+    @Test
+    @DisplayName("Deve mapear listas elemento a elemento e preservar listas nulas")
+    void should_MapListsAndKeepNulls_When_MappingCollections() {
+        List<Pedido> pedidos = List.of(MapeamentoDados.pedido(1L, 2), MapeamentoDados.pedido(2L, 0));
+        pedidos.get(1).setItens(null);
+
+        List<PedidoResponseDTO> esperados = pedidos.stream()
+            .map(this::comIdsDasAssociacoes)
+            .toList();
+
+        assertThat(pedidoMapper.toResponseDTOList(pedidos)).isEqualTo(esperados);
+        assertThat(pedidoMapper.toResponseDTOList(pedidos).get(1).getItens()).isNull();
+        assertThat(pedidoMapper.toResponseDTO(null)).isNull();
+        assertThat(pedidoMapper.toResponseDTO(MapeamentoDados.pedido(3L, 1)).getDataPedido())
+            .isEqualTo(LocalDateTime.of(2024, 6, 15, 14, 30));
+    }
+
+    // Além do que o ModelMapper copiava, o pedido traz os ids de cliente, restaurante e produtos,
+    // como as respostas projetadas pelas consultas
+    private PedidoResponseDTO comIdsDasAssociacoes(Pedido pedido) {
+        PedidoResponseDTO esperado = modelMapper.map(pedido, PedidoResponseDTO.class);
+        esperado.setClienteId(pedido.getCliente().getId());
+        esperado.setRestauranteId(pedido.getRestaurante().getId());
+        if (pedido.getItens() != null) {
+            for (int i = 0; i < pedido.getItens().size(); i++) {
+                esperado.getItens().get(i).setProdutoId(pedido.getItens().get(i).getProduto().getId());
+            }
+        }
+        return esperado;
+    }
+}
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registra os comandos SQL gerados pelo Hibernate enquanto a captura estiver ativa na thread
+public class ComandosCapturados implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADOS = new ThreadLocal<>();
+
+    public static void iniciar() {
+        CAPTURADOS.set(new ArrayList<>());
+    }
+
+    public static List<String> encerrar() {
+        List<String> comandos = CAPTURADOS.get();
+        CAPTURADOS.remove();
+        return comandos != null ? comandos : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> comandos = CAPTURADOS.get();
+        if (comandos != null) {
+            comandos.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,227 @@
+package com.deliverytech.delivery_api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.config.TestSecurityConfig;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+
+// Executa cada consulta declarada nos repositórios, roda EXPLAIN sobre os comandos gerados
+// e falha quando algum deles varre uma tabela inteira sem estar na lista de varreduras aceitas
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.deliverytech.delivery_api.repository.ComandosCapturados")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@Transactional
+@DisplayName("Testes de cobertura de índices das consultas dos repositórios")
+class IndicesConsultasIT {
+
+    // Trecho do plano do H2 para uma tabela lida sem índice
+    private static final Pattern VARREDURA = Pattern.compile("/\\* PUBLIC\\.([A-Z_]+)\\.tableScan \\*/");
+
+    // Consultas que percorrem a tabela por natureza; qualquer outra varredura falha o teste
+    private static final Map<String, String> VARREDURAS_ACEITAS = Map.ofEntries(
+        Map.entry("ClienteRepository.findAll", "listagem completa"),
+        Map.entry("PedidoRepository.findAll", "listagem completa, paginada"),
+        Map.entry("ClienteRepository.findByAtivoTrue", "filtro booleano de baixa seletividade"),
+        Map.entry("ClienteRepository.findRespostaByAtivoTrue", "filtro booleano de baixa seletividade"),
+        Map.entry("ClienteRepository.countClientesAtivos", "filtro booleano de baixa seletividade"),
+        Map.entry("ClienteRepository.findByAtivoTrueWithPedidos", "filtro booleano de baixa seletividade"),
+        Map.entry("ClienteRepository.findByNomeContainingIgnoreCase", "busca por trecho do nome"),
+        Map.entry("ClienteRepository.findByCidade", "busca por trecho do endereço"),
+        Map.entry("ClienteRepository.findByTelefone", "consulta administrativa eventual"),
+        Map.entry("ClienteRepository.rankingClientesPorPedidos", "relatório sobre todos os clientes"),
+        Map.entry("PedidoRepository.findVendasAgrupadasPorRestaurante", "relatório sobre todos os pedidos"),
+        Map.entry("PedidoRepository.findProdutosMaisVendidos", "relatório sobre todos os pedidos"),
+        Map.entry("PedidoRepository.findClientesMaisAtivos", "relatório sobre todos os pedidos"),
+        Map.entry("ProdutoRepository.findProdutosMaisVendidos", "relatório sobre todos os produtos"),
+        Map.entry("ProdutoRepository.findByNomeContainingIgnoreCaseAndDisponivelTrue", "busca por trecho do nome"),
+        Map.entry("ProdutoRepository.findRespostaByNome", "busca por trecho do nome"),
+        Map.entry("ProdutoRepository.findByPrecoBetweenAndDisponivelTrue", "faixa de preço sobre todo o catálogo"),
+        Map.entry("ProdutoRepository.findByPrecoLessThanEqualAndDisponivelTrue", "faixa de preço sobre todo o catálogo"),
+        Map.entry("ProdutoRepository.findByDisponivelTrueOrderByPrecoAsc", "catálogo completo"),
+        Map.entry("ProdutoRepository.findByDisponivelTrueOrderByPrecoDesc", "catálogo completo"),
+        Map.entry("RestauranteRepository.findByNomeContainingIgnoreCaseAndAtivoTrue", "busca por trecho do nome"),
+        Map.entry("RestauranteRepository.relatorioVendasPorRestaurante", "relatório sobre todos os restaurantes"),
+        Map.entry("RestauranteRepository.findRestaurantesComProdutos", "catálogo completo"),
+        Map.entry("RestauranteRepository.findByNome", "consulta administrativa eventual"),
+        Map.entry("RestauranteRepository.findByTaxaEntregaLessThanEqual", "usada apenas na carga de dados de exemplo"),
+        Map.entry("RestauranteRepository.versaoListagem", "soma das versões de todos os restaurantes (ETag da listagem)")
+    );
+
+    @Autowired
+    private List<JpaRepository<?, ?>> repositorios;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @Test
+    @DisplayName("Deve usar índice em todas as consultas dos repositórios, exceto nas varreduras aceitas")
+    void should_UseIndex_When_RunningRepositoryQueries() throws Exception {
+        List<String> problemas = new ArrayList<>();
+        int consultas = 0;
+
+        for (JpaRepository<?, ?> repositorio : repositorios) {
+            Class<?> interfaceRepositorio = interfaceDoProjeto(repositorio);
+            for (Method metodo : interfaceRepositorio.getDeclaredMethods()) {
+                if (metodo.isDefault() || Modifier.isStatic(metodo.getModifiers())) {
+                    continue;
+                }
+                String nome = interfaceRepositorio.getSimpleName() + "." + metodo.getName();
+                List<String> comandos;
+                try {
+                    comandos = executar(repositorio, metodo);
+                } catch (InvocationTargetException e) {
+                    problemas.add(nome + ": falhou ao executar: " + e.getCause().getMessage());
+                    continue;
+                }
+
+                Set<String> varridas = new LinkedHashSet<>();
+                for (String comando : comandos) {
+                    Matcher matcher = VARREDURA.matcher(explicar(comando));
+                    while (matcher.find()) {
+                        varridas.add(matcher.group(1));
+                    }
+                }
+                consultas++;
+                if (!varridas.isEmpty() && !VARREDURAS_ACEITAS.containsKey(nome)) {
+                    problemas.add(nome + ": varredura completa de " + varridas);
+                }
+            }
+        }
+
+        assertTrue(consultas > 0);
+        assertTrue(problemas.isEmpty(), String.join("\n", problemas));
+    }
+
+    // Executa o método e retorna os comandos SQL que ele gerou, inclusive os do flush
+    private List<String> executar(Object repositorio, Method metodo) throws Exception {
+        ComandosCapturados.iniciar();
+        try {
+            Object resultado = metodo.invoke(repositorio, argumentos(metodo));
+            if (resultado instanceof Stream<?> stream) {
+                stream.close();
+            }
+            entityManager.flush();
+            return ComandosCapturados.encerrar();
+        } finally {
+            ComandosCapturados.encerrar();
+            entityManager.clear();
+        }
+    }
+
+    // Os parâmetros ficam nulos: o H2 escolhe o índice pela forma da condição, não pelo valor
+    private String explicar(String comando) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexao -> {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + comando)) {
+                int parametros = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    explain.setObject(i, null);
+                }
+                StringBuilder plano = new StringBuilder();
+                try (ResultSet resultado = explain.executeQuery()) {
+                    while (resultado.next()) {
+                        plano.append(resultado.getString(1));
+                    }
+                }
+                return plano.toString();
+            }
+        });
+    }
+
+    private Class<?> interfaceDoProjeto(Object repositorio) {
+        for (Class<?> tipo : repositorio.getClass().getInterfaces()) {
+            if (tipo.getPackageName().equals(getClass().getPackageName())) {
+                return tipo;
+            }
+        }
+        throw new IllegalStateException("Repositório sem interface do projeto: " + repositorio);
+    }
+
+    private Object[] argumentos(Method metodo) {
+        Class<?>[] tipos = metodo.getParameterTypes();
+        Type[] genericos = metodo.getGenericParameterTypes();
+        Object[] argumentos = new Object[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            argumentos[i] = exemplo(tipos[i], genericos[i]);
+        }
+        return argumentos;
+    }
+
+    private Object exemplo(Class<?> tipo, Type generico) {
+        if (tipo == Long.class || tipo == long.class) {
+            return 1L;
+        }
+        if (tipo == Integer.class || tipo == int.class) {
+            return 1;
+        }
+        if (tipo == Boolean.class || tipo == boolean.class) {
+            return true;
+        }
+        if (tipo == String.class) {
+            return "Pizza";
+        }
+        if (tipo == BigDecimal.class) {
+            return BigDecimal.TEN;
+        }
+        if (tipo == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (tipo == StatusPedido.class) {
+            return StatusPedido.PENDENTE;
+        }
+        if (tipo == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (Collection.class.isAssignableFrom(tipo)) {
+            Type elemento = ((ParameterizedType) generico).getActualTypeArguments()[0];
+            return List.of(exemplo((Class<?>) elemento, elemento));
+        }
+        if (tipo.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(tipo, 1L);
+        }
+        throw new IllegalArgumentException("Tipo de parâmetro sem valor de exemplo: " + tipo);
+    }
+}
@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,11 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import com.deliverytech.delivery_api.dto.ClienteDTO;
 import com.deliverytech.delivery_api.dto.ClienteResponseDTO;
 import com.deliverytech.delivery_api.exception.BusinessException;
+import com.deliverytech.delivery_api.mapper.ClienteMapper;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 
@@ -37,7 +36,7 @@ public class ClienteServiceTest {
     private ClienteRepository clienteRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private ClienteMapper clienteMapper;
 
     @InjectMocks
     private ClienteServiceImpl clienteService;
@@ -77,9 +76,9 @@ public class ClienteServiceTest {
         cliente.setEmail(clienteDTO.getEmail());
         cliente.setTelefone(clienteDTO.getTelefone());
 
-        when(modelMapper.map(any(ClienteDTO.class), eq(Cliente.class))).thenReturn(cliente);
+        when(clienteMapper.toEntity(any(ClienteDTO.class))).thenReturn(cliente);
 
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class))).thenReturn(clienteResponseDTO);
+        when(clienteMapper.toResponseDTO(any(Cliente.class))).thenReturn(clienteResponseDTO);
 
         when(clienteRepository.existsByEmail(anyString())).thenReturn(false);
         //when(clienteRepository.existsByCpf(anyString())).thenReturn(false);
@@ -123,7 +122,7 @@ public class ClienteServiceTest {
         clienteResponse.setNome("João Silva");
         clienteResponse.setEmail("joao@email.com");
 
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
             .thenReturn(clienteResponse);
 
         ClienteResponseDTO resultado = clienteService.buscarClientePorId(1L);
@@ -131,7 +130,7 @@ public class ClienteServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.getNome());
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
         verify(clienteRepository).findById(1L);
     }
 
@@ -171,7 +170,7 @@ public class ClienteServiceTest {
         when(clienteRepository.existsByEmail("joao.santos@email.com")).thenReturn(false);
         when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteSalvo);
 
-        when(modelMapper.map(any(Cliente.class), eq(ClienteResponseDTO.class)))
+        when(clienteMapper.toResponseDTO(any(Cliente.class)))
             .thenReturn(clienteResponseSaida);
         
         // When
@@ -180,7 +179,7 @@ public class ClienteServiceTest {
         assertNotNull(resultado);
         assertEquals("João Santos", resultado.getNome());
         verify(clienteRepository).save(any(Cliente.class));
-        verify(modelMapper).map(any(Cliente.class), eq(ClienteResponseDTO.class));
+        verify(clienteMapper).toResponseDTO(any(Cliente.class));
     }
 
 }  
@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Testes dos totais aproximados da paginação")
+class ContagemAproximadaServiceTest {
+
+    private ContagemAproximadaService contagemAproximadaService;
+
+    @AfterEach
+    void tearDown() {
+        contagemAproximadaService.parar();
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o total enquanto a contagem estiver válida")
+    void should_ReuseTotal_When_CountIsStillValid() {
+        contagemAproximadaService = new ContagemAproximadaService(60000, 10);
+        AtomicInteger contagens = new AtomicInteger();
+
+        assertEquals(7L, contagemAproximadaService.obter("pedidos", () -> { contagens.incrementAndGet(); return 7L; }));
+        assertEquals(7L, contagemAproximadaService.obter("pedidos", () -> { contagens.incrementAndGet(); return 8L; }));
+        assertEquals(1, contagens.get());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o total anterior e recalcular em segundo plano quando a contagem vencer")
+    void should_ReturnStaleTotalAndRefresh_When_CountExpired() throws Exception {
+        contagemAproximadaService = new ContagemAproximadaService(0, 10);
+        contagemAproximadaService.obter("pedidos", () -> 7L);
+        Thread.sleep(5);
+
+        assertEquals(7L, contagemAproximadaService.obter("pedidos", () -> 8L));
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        long total;
+        do {
+            Thread.sleep(10);
+            total = contagemAproximadaService.obter("pedidos", () -> 8L);
+        } while (total != 8L && System.nanoTime() < limite);
+        assertEquals(8L, total);
+    }
+}
@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Testes do serviço de cotação de preços")
+class CotacaoServiceTest {
+
+    private static final String SECRET = "segredo-de-teste";
+    private static final Instant AGORA = Instant.parse("2025-06-15T14:30:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CotacaoService cotacaoService = criarServico(AGORA);
+
+    @Test
+    @DisplayName("Deve validar a cotação emitida com os mesmos preços")
+    void should_ReturnQuote_When_TokenIsValid() {
+        String token = cotacaoService.emitir(1L, new BigDecimal("5.00"), Map.of(10L, new BigDecimal("35.90")));
+
+        CotacaoService.Cotacao cotacao = cotacaoService.validar(token).orElseThrow();
+
+        assertEquals(1L, cotacao.getRestauranteId());
+        assertEquals(new BigDecimal("5.00"), cotacao.getTaxaEntrega());
+        assertEquals(new BigDecimal("35.90"), cotacao.getPrecos().get(10L));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cotação com conteúdo alterado")
+    void should_RejectQuote_When_PayloadIsTampered() {
+        String token = cotacaoService.emitir(1L, new BigDecimal("5.00"), Map.of(10L, new BigDecimal("35.90")));
+        String outroConteudo = cotacaoService.emitir(1L, new BigDecimal("5.00"), Map.of(10L, new BigDecimal("0.01"))).split("\\.")[0];
+
+        assertTrue(cotacaoService.validar(outroConteudo + "." + token.split("\\.")[1]).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cotação assinada com outra chave")
+    void should_RejectQuote_When_SignedWithAnotherSecret() {
+        CotacaoService outroServico = new CotacaoService(objectMapper, "outro-segredo", 60000, Clock.fixed(AGORA, ZoneOffset.UTC));
+        String token = outroServico.emitir(1L, new BigDecimal("5.00"), Map.of(10L, new BigDecimal("35.90")));
+
+        assertTrue(cotacaoService.validar(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cotação expirada")
+    void should_RejectQuote_When_Expired() {
+        String token = cotacaoService.emitir(1L, new BigDecimal("5.00"), Map.of(10L, new BigDecimal("35.90")));
+
+        assertTrue(criarServico(AGORA.plus(Duration.ofMinutes(2))).validar(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar tokens vazios ou malformados")
+    void should_RejectQuote_When_TokenIsMalformed() {
+        assertTrue(cotacaoService.validar(null).isEmpty());
+        assertTrue(cotacaoService.validar("").isEmpty());
+        assertTrue(cotacaoService.validar("abc").isEmpty());
+        assertTrue(cotacaoService.validar("@@@.###").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chave vazia ou igual à chave do JWT")
+    void should_RejectSecret_When_BlankOrSameAsJwtSecret() {
+        assertThrows(IllegalStateException.class, () -> new CotacaoService(objectMapper, " ", 60000, SECRET));
+        assertThrows(IllegalStateException.class, () -> new CotacaoService(objectMapper, SECRET, 60000, SECRET));
+    }
+
+    private CotacaoService criarServico(Instant agora) {
+        return new CotacaoService(objectMapper, SECRET, 60000, Clock.fixed(agora, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,166 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.deliverytech.delivery_api.exception.ConflictException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do estoque em memória")
+class EstoqueServiceTest {
+
+    private static final long PIZZA = 1L;
+    private static final long REFRIGERANTE = 2L;
+    private static final long SEM_CONTROLE = 3L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EstoqueService estoqueService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        estoqueService = new EstoqueService(jdbcTemplate, new MetricsService(meterRegistry), 1000);
+
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+            Map.of("id", PIZZA, "estoque", 5),
+            Map.of("id", REFRIGERANTE, "estoque", 1)));
+        estoqueService.reconciliar();
+    }
+
+    @Test
+    @DisplayName("Deve carregar os saldos da tabela produto na reconciliação")
+    void should_LoadBalances_When_Reconciling() {
+        assertEquals(5L, estoqueService.consultarSaldo(PIZZA));
+        assertEquals(1L, estoqueService.consultarSaldo(REFRIGERANTE));
+        assertNull(estoqueService.consultarSaldo(SEM_CONTROLE));
+        assertEquals(6.0, meterRegistry.get("delivery.produtos.estoque").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o pedido inteiro quando um dos produtos não tem estoque suficiente")
+    void should_RejectWholeReservation_When_AnyProductIsSoldOut() {
+        ConflictException exception = assertThrows(ConflictException.class,
+            () -> estoqueService.reservar(Map.of(PIZZA, 2L, REFRIGERANTE, 2L, SEM_CONTROLE, 10L)));
+
+        assertEquals("Produto sem estoque suficiente: " + REFRIGERANTE, exception.getMessage());
+        assertEquals(5L, estoqueService.consultarSaldo(PIZZA));
+        assertEquals(1L, estoqueService.consultarSaldo(REFRIGERANTE));
+
+        estoqueService.gravarPendentes();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve devolver a reserva uma única vez mesmo se liberada repetidamente")
+    void should_ReleaseOnlyOnce_When_ReservationReleasedTwice() {
+        EstoqueService.Reserva reserva = estoqueService.reservar(Map.of(PIZZA, 3L, SEM_CONTROLE, 10L));
+        assertEquals(2L, estoqueService.consultarSaldo(PIZZA));
+
+        reserva.liberar();
+        reserva.liberar();
+
+        assertEquals(5L, estoqueService.consultarSaldo(PIZZA));
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas a diferença líquida de cada produto em um único lote")
+    @SuppressWarnings("unchecked")
+    void should_FlushNetDeltasInSingleBatch_When_StockChanged() {
+        estoqueService.reservar(Map.of(PIZZA, 2L, REFRIGERANTE, 1L));
+        estoqueService.devolverAposCommit(Map.of(PIZZA, 1L));
+
+        estoqueService.gravarPendentes();
+        estoqueService.gravarPendentes();
+
+        ArgumentCaptor<List<Object[]>> lote = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), lote.capture());
+        List<Object[]> linhas = lote.getValue().stream().sorted(Comparator.comparing(linha -> (Long) linha[1])).toList();
+        assertEquals(2, linhas.size());
+        assertEquals(List.of(-1L, PIZZA), List.of(linhas.get(0)));
+        assertEquals(List.of(-1L, REFRIGERANTE), List.of(linhas.get(1)));
+        assertEquals(4.0, meterRegistry.get("delivery.produtos.estoque").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve definir o saldo como diferença, sem perder as reservas feitas depois")
+    @SuppressWarnings("unchecked")
+    void should_SetBalanceAsDelta_When_ProductHasStockControl() {
+        estoqueService.reservar(Map.of(PIZZA, 2L));
+
+        estoqueService.definir(PIZZA, 10);
+        estoqueService.reservar(Map.of(PIZZA, 1L));
+        estoqueService.gravarPendentes();
+
+        // A tabela tinha 5: -2 da primeira reserva, +7 para chegar a 10 e -1 da reserva seguinte
+        ArgumentCaptor<List<Object[]>> lote = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), lote.capture());
+        assertEquals(List.of(4L, PIZZA), List.of(lote.getValue().get(0)));
+        assertEquals(9L, estoqueService.consultarSaldo(PIZZA));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o saldo inicial direto na tabela quando o produto não tinha controle de estoque")
+    void should_WriteInitialBalance_When_ProductHadNoStockControl() {
+        estoqueService.definir(SEM_CONTROLE, 8);
+
+        verify(jdbcTemplate).update("UPDATE produto SET estoque = ? WHERE id = ?", 8, SEM_CONTROLE);
+        assertEquals(8L, estoqueService.consultarSaldo(SEM_CONTROLE));
+    }
+
+    @Test
+    @DisplayName("Deve descartar saldo e diferenças pendentes do produto removido")
+    void should_DropBalanceAndPendingDeltas_When_ProductRemoved() {
+        estoqueService.reservar(Map.of(PIZZA, 2L));
+
+        estoqueService.removerAposCommit(PIZZA);
+        estoqueService.gravarPendentes();
+
+        assertNull(estoqueService.consultarSaldo(PIZZA));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertEquals(1.0, meterRegistry.get("delivery.produtos.estoque").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve manter as diferenças para a próxima gravação quando o banco falhar")
+    void should_KeepPendingDeltas_When_FlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(new int[] { 1 });
+        estoqueService.reservar(Map.of(PIZZA, 2L));
+
+        estoqueService.gravarPendentes();
+        estoqueService.gravarPendentes();
+        estoqueService.gravarPendentes();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals(3L, estoqueService.consultarSaldo(PIZZA));
+    }
+}
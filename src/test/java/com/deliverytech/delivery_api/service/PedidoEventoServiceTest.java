@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.dto.PedidoEventoDTO;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes dos eventos de pedido por SSE")
+class PedidoEventoServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PedidoEventoService pedidoEventoService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pedidoEventoService = new PedidoEventoService(new MetricsService(meterRegistry), 2, 60000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoEventoService.parar();
+    }
+
+    @Test
+    @DisplayName("Deve entregar o evento ao restaurante e ao cliente do pedido")
+    void should_DeliverToRestaurantAndClient_When_OrderChanges() throws Exception {
+        EmitterDeTeste restaurante = new EmitterDeTeste(1);
+        EmitterDeTeste cliente = new EmitterDeTeste(1);
+        EmitterDeTeste outroRestaurante = new EmitterDeTeste(1);
+        pedidoEventoService.assinarRestaurante(1L, restaurante);
+        pedidoEventoService.assinarCliente(10L, cliente);
+        pedidoEventoService.assinarRestaurante(2L, outroRestaurante);
+
+        pedidoEventoService.publicar(evento(100L, StatusPedido.CONFIRMADO));
+
+        assertTrue(restaurante.recebidos.await(5, TimeUnit.SECONDS));
+        assertTrue(cliente.recebidos.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(100L), restaurante.pedidos);
+        assertEquals(List.of(100L), cliente.pedidos);
+        assertTrue(outroRestaurante.pedidos.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve descartar os eventos mais antigos quando o assinante não consome a tempo")
+    void should_DropOldestEvents_When_SubscriberIsSlow() throws Exception {
+        EmitterDeTeste lento = new EmitterDeTeste(3);
+        lento.bloquear();
+        pedidoEventoService.assinarRestaurante(1L, lento);
+
+        // O primeiro evento fica preso no envio; dos quatro seguintes, só os dois últimos cabem no buffer
+        pedidoEventoService.publicar(evento(1L, StatusPedido.PENDENTE));
+        assertTrue(lento.envioIniciado.await(5, TimeUnit.SECONDS));
+        for (long pedidoId = 2; pedidoId <= 5; pedidoId++) {
+            pedidoEventoService.publicar(evento(pedidoId, StatusPedido.PENDENTE));
+        }
+        lento.liberar();
+
+        assertTrue(lento.recebidos.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 4L, 5L), lento.pedidos);
+        assertEquals(2.0, meterRegistry.get("delivery.pedidos.eventos.descartados").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve remover a assinatura quando a conexão do assinante for encerrada")
+    void should_RemoveSubscription_When_SendFails() throws Exception {
+        EmitterDeTeste desconectado = new EmitterDeTeste(1);
+        desconectado.falhar = true;
+        pedidoEventoService.assinarCliente(10L, desconectado);
+        assertTrue(pedidoEventoService.possuiAssinantes());
+
+        pedidoEventoService.publicar(evento(100L, StatusPedido.CANCELADO));
+
+        assertTrue(desconectado.recebidos.await(5, TimeUnit.SECONDS));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pedidoEventoService.possuiAssinantes() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertFalse(pedidoEventoService.possuiAssinantes());
+    }
+
+    private PedidoEventoDTO evento(Long pedidoId, StatusPedido status) {
+        return new PedidoEventoDTO(pedidoId, 1L, 10L, status, LocalDateTime.now());
+    }
+
+    // Registra os pedidos enviados; pode segurar o envio para simular um assinante lento
+    private static class EmitterDeTeste extends SseEmitter {
+        private final List<Long> pedidos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch recebidos;
+        private final CountDownLatch envioIniciado = new CountDownLatch(1);
+        private CountDownLatch liberacao = new CountDownLatch(0);
+        private volatile boolean falhar;
+
+        EmitterDeTeste(int esperados) {
+            this.recebidos = new CountDownLatch(esperados);
+        }
+
+        void bloquear() {
+            liberacao = new CountDownLatch(1);
+        }
+
+        void liberar() {
+            liberacao.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            envioIniciado.countDown();
+            try {
+                liberacao.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (falhar) {
+                recebidos.countDown();
+                throw new IOException("Conexão encerrada");
+            }
+            builder.build().stream()
+                .filter(parte -> parte.getData() instanceof PedidoEventoDTO)
+                .forEach(parte -> pedidos.add(((PedidoEventoDTO) parte.getData()).getPedidoId()));
+            recebidos.countDown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
+import com.deliverytech.delivery_api.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do recebimento assíncrono de pedidos")
+class PedidoIntakeServiceTest {
+
+    private static final long FALHA = 99L;
+
+    @Mock
+    private PedidoService pedidoService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PedidoIntakeService pedidoIntakeService;
+
+    private final CountDownLatch gravacaoIniciada = new CountDownLatch(1);
+    private final CountDownLatch liberarGravacao = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pedidoIntakeService = new PedidoIntakeService(pedidoService, new MetricsService(meterRegistry), 2, 1, 20, 7, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        liberarGravacao.countDown();
+        pedidoIntakeService.parar();
+    }
+
+    @Test
+    @DisplayName("Deve recusar com Retry-After quando a fila estiver cheia")
+    void should_RejectWithRetryAfter_When_QueueIsFull() throws Exception {
+        simularGravacao();
+        pedidoIntakeService.iniciar();
+
+        // O primeiro pedido ocupa o gravador; os dois seguintes enchem a fila
+        pedidoIntakeService.receber(criarPedidoDTO(0L));
+        assertTrue(gravacaoIniciada.await(5, TimeUnit.SECONDS));
+        pedidoIntakeService.receber(criarPedidoDTO(1L));
+        pedidoIntakeService.receber(criarPedidoDTO(2L));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+            () -> pedidoIntakeService.receber(criarPedidoDTO(3L)));
+
+        assertEquals(7, exception.getRetryAfterSeconds());
+        assertEquals(2.0, meterRegistry.get("delivery.pedidos.fila.tamanho").gauge().value());
+        assertEquals(1.0, meterRegistry.get("delivery.pedidos.fila.recusados").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os pedidos enfileirados em lote e atualizar a situação de acompanhamento")
+    void should_PersistQueuedOrdersInBatch_When_WritersDrainQueue() throws Exception {
+        simularGravacao();
+        pedidoIntakeService.iniciar();
+
+        pedidoIntakeService.receber(criarPedidoDTO(0L));
+        assertTrue(gravacaoIniciada.await(5, TimeUnit.SECONDS));
+        String primeiro = pedidoIntakeService.receber(criarPedidoDTO(1L)).getTrackingId();
+        String segundo = pedidoIntakeService.receber(criarPedidoDTO(2L)).getTrackingId();
+        liberarGravacao.countDown();
+
+        assertEquals(1L, aguardarConclusao(primeiro).getPedidoId());
+        assertEquals(2L, aguardarConclusao(segundo).getPedidoId());
+        verify(pedidoService).criarPedidosEmLote(argThat(pedidos -> pedidos.size() == 2));
+        assertEquals(2, meterRegistry.get("delivery.pedidos.fila.drenagem.tempo").timer().count());
+        assertEquals(3, meterRegistry.get("delivery.pedidos.fila.espera.tempo").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve gravar individualmente quando o lote falhar por erro inesperado")
+    void should_FallBackToSingleWrites_When_BatchFails() throws Exception {
+        simularGravacao();
+        pedidoIntakeService.iniciar();
+
+        pedidoIntakeService.receber(criarPedidoDTO(0L));
+        assertTrue(gravacaoIniciada.await(5, TimeUnit.SECONDS));
+        String valido = pedidoIntakeService.receber(criarPedidoDTO(1L)).getTrackingId();
+        String comFalha = pedidoIntakeService.receber(criarPedidoDTO(FALHA)).getTrackingId();
+        liberarGravacao.countDown();
+
+        assertEquals(PedidoIntakeStatusDTO.Situacao.CRIADO, aguardarConclusao(valido).getSituacao());
+        PedidoIntakeStatusDTO situacao = aguardarConclusao(comFalha);
+        assertEquals(PedidoIntakeStatusDTO.Situacao.REJEITADO, situacao.getSituacao());
+        assertEquals("Erro ao gravar pedido", situacao.getMensagem());
+    }
+
+    // Simula o serviço: o pedido do cliente 0 segura o gravador até a liberação e o do cliente 99 derruba o lote
+    private void simularGravacao() {
+        when(pedidoService.criarPedidosEmLote(anyList())).thenAnswer(invocation -> {
+            List<PedidoDTO> pedidos = invocation.getArgument(0);
+            if (pedidos.get(0).getClienteId() == 0L) {
+                gravacaoIniciada.countDown();
+                liberarGravacao.await(5, TimeUnit.SECONDS);
+            }
+            if (pedidos.stream().anyMatch(pedido -> pedido.getClienteId() == FALHA)) {
+                throw new IllegalStateException("Falha ao gravar no banco");
+            }
+            return pedidos.stream().map(pedido -> PedidoIntakeStatusDTO.criado(pedido.getClienteId())).toList();
+        });
+    }
+
+    private PedidoDTO criarPedidoDTO(Long clienteId) {
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(clienteId);
+        return pedidoDTO;
+    }
+
+    private PedidoIntakeStatusDTO aguardarConclusao(String trackingId) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            PedidoIntakeStatusDTO situacao = pedidoIntakeService.consultar(trackingId).orElseThrow();
+            if (situacao.getSituacao() == PedidoIntakeStatusDTO.Situacao.CRIADO
+                    || situacao.getSituacao() == PedidoIntakeStatusDTO.Situacao.REJEITADO) {
+                return situacao;
+            }
+            assertTrue(System.nanoTime() < limite, "Pedido não foi processado a tempo");
+            Thread.sleep(10);
+        }
+    }
+}
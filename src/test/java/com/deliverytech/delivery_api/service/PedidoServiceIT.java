@@ -0,0 +1,617 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.config.TestSecurityConfig;
+import com.deliverytech.delivery_api.dto.FormatoExportacao;
+import com.deliverytech.delivery_api.dto.ItemPedidoDTO;
+import com.deliverytech.delivery_api.dto.PagedResponseWrapper;
+import com.deliverytech.delivery_api.dto.PedidoDTO;
+import com.deliverytech.delivery_api.dto.PedidoIntakeStatusDTO;
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.dto.ProdutoDTO;
+import com.deliverytech.delivery_api.dto.ResultadoStatusPedidoDTO;
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.deliverytech.delivery_api.exception.EntityNotFoundException;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.PedidoSpecifications;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// A gravação periódica do estoque roda em outra conexão, que não enxerga os produtos da transação do teste
+// e descartaria as diferenças deles; os testes chamam gravarPendentes diretamente
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "estoque.gravacao.intervalo=3600000"
+})
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@Transactional
+@DisplayName("Testes de Integração do serviço de Pedido")
+class PedidoServiceIT {
+
+    @Autowired
+    private PedidoServiceImpl pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private ProdutoServiceImpl produtoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PedidoExportacaoService pedidoExportacaoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    private Restaurante restaurante;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = restauranteRepository.findAll().stream().filter(Restaurante::isAtivo).findFirst().orElseThrow();
+
+        // Cardápio com produtos suficientes para pedidos grandes
+        produtos = new ArrayList<>();
+        for (int i = 1; i <= 15; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Lote " + i);
+            produto.setDescricao("Produto para teste de contagem de consultas");
+            produto.setPreco(BigDecimal.valueOf(10 + i));
+            produto.setCategoria("Pizza");
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produtoRepository.save(produto));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve executar o mesmo número de comandos SQL independente da quantidade de itens, incluindo os INSERTs")
+    void should_ExecuteFixedStatementCount_When_ItemCountGrows() {
+        long comandosUmItem = contarComandos(criarPedidoDTO(1));
+        long comandosQuinzeItens = contarComandos(criarPedidoDTO(15));
+
+        assertEquals(comandosUmItem, comandosQuinzeItens);
+    }
+
+    @Test
+    @DisplayName("Deve reportar todos os itens inválidos de uma vez")
+    void should_ReportAllInvalidItems_When_OrderHasManyProblems() {
+        Produto indisponivel = produtos.get(0);
+        indisponivel.setDisponivel(false);
+        produtoRepository.save(indisponivel);
+
+        Restaurante outroRestaurante = restauranteRepository.findAll().stream()
+            .filter(r -> !r.getId().equals(restaurante.getId()))
+            .findFirst().orElseThrow();
+        Produto deOutroRestaurante = produtoRepository.findByRestauranteIdAndDisponivelTrue(outroRestaurante.getId()).get(0);
+
+        PedidoDTO pedidoDTO = criarPedidoDTO(2);
+        pedidoDTO.getItens().get(1).setProdutoId(deOutroRestaurante.getId());
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> pedidoService.criarPedido(pedidoDTO));
+
+        assertTrue(exception.getMessage().contains(indisponivel.getNome()));
+        assertTrue(exception.getMessage().contains(deOutroRestaurante.getNome()));
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os produtos inexistentes na mesma mensagem")
+    void should_ListAllMissingProducts_When_ProductsNotExist() {
+        PedidoDTO pedidoDTO = criarPedidoDTO(3);
+        pedidoDTO.getItens().get(1).setProdutoId(998L);
+        pedidoDTO.getItens().get(2).setProdutoId(999L);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> pedidoService.criarPedido(pedidoDTO));
+
+        assertEquals("Produto não encontrado: 998, 999", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o lote rejeitando apenas os pedidos inválidos")
+    void should_RejectOnlyInvalidOrders_When_CreatingBatch() {
+        PedidoDTO invalido = criarPedidoDTO(1);
+        invalido.getItens().get(0).setProdutoId(999L);
+
+        List<PedidoIntakeStatusDTO> resultados = pedidoService.criarPedidosEmLote(
+            List.of(criarPedidoDTO(2), invalido, criarPedidoDTO(3)));
+
+        assertEquals(3, resultados.size());
+        assertEquals(PedidoIntakeStatusDTO.Situacao.CRIADO, resultados.get(0).getSituacao());
+        assertEquals(PedidoIntakeStatusDTO.Situacao.REJEITADO, resultados.get(1).getSituacao());
+        assertEquals("Produto não encontrado: 999", resultados.get(1).getMensagem());
+        assertEquals(PedidoIntakeStatusDTO.Situacao.CRIADO, resultados.get(2).getSituacao());
+
+        entityManager.clear();
+        assertEquals(3, pedidoService.buscarPedidoPorId(resultados.get(2).getPedidoId()).getItens().size());
+    }
+
+    @Test
+    @DisplayName("Deve manter os preços cotados e executar menos comandos quando houver cotação válida")
+    void should_UseQuotedPricesWithFewerStatements_When_QuoteIsValid() {
+        PedidoDTO semCotacao = criarPedidoDTO(3);
+        PedidoDTO comCotacao = criarPedidoDTO(3);
+        comCotacao.setCotacao(pedidoService.cotarPedido(restaurante.getId(), comCotacao.getItens()).getToken());
+
+        // Reajuste depois da cotação não afeta o pedido cotado
+        Produto reajustado = produtoRepository.findById(produtos.get(0).getId()).orElseThrow();
+        reajustado.setPreco(new BigDecimal("99.90"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(contarComandos(comCotacao) < contarComandos(semCotacao));
+
+        PedidoResponseDTO pedido = pedidoService.criarPedido(comCotacao);
+        BigDecimal totalCotado = produtos.get(0).getPreco().add(produtos.get(1).getPreco()).add(produtos.get(2).getPreco())
+            .add(restaurante.getTaxaEntrega());
+        assertEquals(0, totalCotado.compareTo(pedido.getValorTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve recalcular os preços quando a cotação for inválida")
+    void should_RepriceOrder_When_QuoteIsInvalid() {
+        PedidoDTO pedidoDTO = criarPedidoDTO(1);
+        String token = pedidoService.cotarPedido(restaurante.getId(), pedidoDTO.getItens()).getToken();
+        pedidoDTO.setCotacao(token.substring(0, token.length() - 2) + "xx");
+
+        Produto reajustado = produtoRepository.findById(produtos.get(0).getId()).orElseThrow();
+        reajustado.setPreco(new BigDecimal("99.90"));
+        entityManager.flush();
+
+        PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
+
+        assertEquals(0, new BigDecimal("99.90").add(restaurante.getTaxaEntrega()).compareTo(pedido.getValorTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o pedido cotado quando um produto ficar indisponível")
+    void should_ValidateItems_When_QuotedProductBecomesUnavailable() {
+        PedidoDTO pedidoDTO = criarPedidoDTO(2);
+        pedidoDTO.setCotacao(pedidoService.cotarPedido(restaurante.getId(), pedidoDTO.getItens()).getToken());
+
+        Produto indisponivel = produtoRepository.findById(produtos.get(1).getId()).orElseThrow();
+        indisponivel.setDisponivel(false);
+        entityManager.flush();
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> pedidoService.criarPedido(pedidoDTO));
+        assertTrue(exception.getMessage().contains(indisponivel.getNome()));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o status com um único UPDATE e responder com o pedido completo sem carregar entidades")
+    void should_UpdateStatusWithSingleUpdate_When_TransitionIsValid() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PedidoResponseDTO pedido = pedidoService.atualizarStatusPedido(1L, StatusPedido.CONFIRMADO);
+
+        // UPDATE condicional, projeção da resposta e itens
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(StatusPedido.CONFIRMADO, pedido.getStatus());
+        assertNotNull(pedido.getClienteId());
+        assertNotNull(pedido.getRestauranteId());
+        assertNotNull(pedido.getValorTotal());
+        assertFalse(pedido.getItens().isEmpty());
+        assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.findStatusById(1L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve reportar conflito quando outra atualização mudou o status antes")
+    void should_ThrowConflict_When_StatusChangedConcurrently() {
+        // Duas cozinhas tentam iniciar o preparo do mesmo pedido confirmado
+        pedidoService.atualizarStatusPedido(2L, StatusPedido.PREPARANDO);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+            () -> pedidoService.atualizarStatusPedido(2L, StatusPedido.PREPARANDO));
+
+        assertEquals("Transição de status inválida: PREPARANDO -> PREPARANDO", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cancelamento de pedido entregue sem alterar o status")
+    void should_ThrowConflict_When_CancellingDeliveredOrder() {
+        ConflictException exception = assertThrows(ConflictException.class, () -> pedidoService.cancelarPedido(3L));
+
+        assertEquals("Pedido não pode ser cancelado no status: ENTREGUE", exception.getMessage());
+        assertEquals(StatusPedido.ENTREGUE, pedidoRepository.findStatusById(3L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao atualizar status de pedido inexistente")
+    void should_ThrowNotFound_When_UpdatingStatusOfMissingOrder() {
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.atualizarStatusPedido(999L, StatusPedido.CONFIRMADO));
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.cancelarPedido(999L));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o lote com uma leitura e um UPDATE, informando o resultado de cada pedido")
+    void should_ReportPerOrderOutcome_When_UpdatingStatusInBatch() {
+        Long pendente = pedidoService.criarPedido(criarPedidoDTO(1)).getId();
+        Long confirmado = pedidoService.criarPedido(criarPedidoDTO(1)).getId();
+        pedidoService.atualizarStatusPedido(confirmado, StatusPedido.CONFIRMADO);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // O pedido 2 é de outro restaurante e não pode ser alterado nem revelado
+        List<ResultadoStatusPedidoDTO> resultados = pedidoService.atualizarStatusEmLote(
+            restaurante.getId(), List.of(pendente, confirmado, 2L, 999L, pendente), StatusPedido.CONFIRMADO);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(4, resultados.size());
+        assertEquals(ResultadoStatusPedidoDTO.Resultado.ATUALIZADO, resultados.get(0).getResultado());
+        assertEquals(ResultadoStatusPedidoDTO.Resultado.TRANSICAO_INVALIDA, resultados.get(1).getResultado());
+        assertEquals(StatusPedido.CONFIRMADO, resultados.get(1).getStatus());
+        assertEquals(ResultadoStatusPedidoDTO.Resultado.NAO_ENCONTRADO, resultados.get(2).getResultado());
+        assertEquals(ResultadoStatusPedidoDTO.Resultado.NAO_ENCONTRADO, resultados.get(3).getResultado());
+
+        assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.findStatusById(pendente).orElseThrow());
+        assertEquals(StatusPedido.CONFIRMADO, pedidoRepository.findStatusById(2L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve recusar produto esgotado sem acessar o banco de dados")
+    void should_RejectWithoutStatements_When_ProductIsSoldOut() {
+        Produto produto = produtos.get(0);
+        definirEstoqueNaTabela(produto.getId(), 1);
+        estoqueService.reconciliar();
+
+        PedidoDTO pedidoDTO = criarPedidoDTO(1);
+        pedidoDTO.getItens().get(0).setQuantidade(2);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThrows(ConflictException.class, () -> pedidoService.criarPedido(pedidoDTO));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Um pedido rejeitado por outro motivo devolve a reserva
+        pedidoDTO.getItens().get(0).setQuantidade(1);
+        pedidoDTO.setClienteId(999L);
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.criarPedido(pedidoDTO));
+        assertEquals(1L, estoqueService.consultarSaldo(produto.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os pedidos por cursor com uma consulta por página e sem COUNT")
+    void should_WalkAllOrdersWithOneQueryPerPage_When_PagingByCursor() {
+        for (int i = 0; i < 4; i++) {
+            pedidoService.criarPedido(criarPedidoDTO(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> esperados = pedidoRepository.findAll(PedidoSpecifications.ORDEM_CURSOR).stream()
+            .map(Pedido::getId)
+            .toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            PagedResponseWrapper<PedidoResponseDTO> pagina =
+                pedidoService.listarPedidosPorCursor(null, null, null, cursor, 3);
+
+            assertEquals(1, statistics.getQueryExecutionCount());
+            pagina.getContent().forEach(pedido -> vistos.add(pedido.getId()));
+            cursor = pagina.getCursor().getNext();
+        } while (cursor != null);
+
+        assertEquals(esperados, vistos);
+    }
+
+    @Test
+    @DisplayName("Deve paginar em modo SLICE sem COUNT e reaproveitar o total aproximado")
+    void should_PageWithoutCount_When_UsingSliceMode() {
+        for (int i = 0; i < 4; i++) {
+            pedidoService.criarPedido(criarPedidoDTO(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long total = pedidoRepository.count();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PagedResponseWrapper<PedidoResponseDTO> primeira =
+            pedidoService.listarPedidosSemTotal(null, null, null, PageRequest.of(0, 3), false);
+
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(3, primeira.getContent().size());
+        assertTrue(primeira.getSlice().isHasNext());
+        assertNull(primeira.getSlice().getApproximateTotal());
+        assertNull(primeira.getPage());
+
+        int ultimaPagina = (int) ((total - 1) / 3);
+        PagedResponseWrapper<PedidoResponseDTO> ultima =
+            pedidoService.listarPedidosSemTotal(null, null, null, PageRequest.of(ultimaPagina, 3), true);
+        assertFalse(ultima.getSlice().isHasNext());
+        assertEquals(Long.valueOf(total), ultima.getSlice().getApproximateTotal());
+
+        // Dentro da validade, o total guardado é reaproveitado sem nova contagem
+        statistics.clear();
+        PagedResponseWrapper<PedidoResponseDTO> comTotal =
+            pedidoService.listarPedidosSemTotal(null, null, null, PageRequest.of(0, 3), true);
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(Long.valueOf(total), comTotal.getSlice().getApproximateTotal());
+    }
+
+    @Test
+    @DisplayName("Deve montar pedidos por id, cliente e restaurante por projeção, sem carregar entidades")
+    void should_ProjectOrdersWithItemsWithoutLoadingEntities_When_SearchingByIdClientOrRestaurant() {
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            criados.add(pedidoService.criarPedido(criarPedidoDTO(3)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<PedidoResponseDTO> doRestaurante = pedidoService.buscarPedidosPorRestaurante(restaurante.getId(), null);
+        // Um comando para os pedidos e outro para os itens de todos eles
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(doRestaurante.stream().map(PedidoResponseDTO::getId).toList().containsAll(criados));
+        doRestaurante.stream().filter(pedido -> criados.contains(pedido.getId()))
+            .forEach(pedido -> assertEquals(3, pedido.getItens().size()));
+        entityManager.clear();
+
+        statistics.clear();
+        List<PedidoResponseDTO> doCliente = pedidoService.buscarPedidosPorCliente(1L);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(doCliente.stream().map(PedidoResponseDTO::getId).toList().containsAll(criados));
+        entityManager.clear();
+
+        statistics.clear();
+        PedidoResponseDTO pedido = pedidoService.buscarPedidoPorId(criados.get(0));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, pedido.getItens().size());
+    }
+
+    @Test
+    @DisplayName("Deve listar pedidos paginados com número fixo de comandos SQL, independente do tamanho da página")
+    void should_ListOrdersWithBoundedStatements_When_Paging() {
+        for (int i = 0; i < 12; i++) {
+            pedidoService.criarPedido(criarPedidoDTO(2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Pedidos, COUNT e itens em lote
+        statistics.clear();
+        Page<PedidoResponseDTO> pagina = pedidoService.listarPedidos(null, null, null, PageRequest.of(0, 10));
+        assertEquals(10, pagina.getContent().size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        entityManager.clear();
+
+        statistics.clear();
+        pedidoService.listarPedidos(StatusPedido.PENDENTE, null, null, PageRequest.of(0, 10));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        entityManager.clear();
+
+        // Sem COUNT: pedidos e itens em lote
+        statistics.clear();
+        pedidoService.listarPedidosSemTotal(null, null, null, PageRequest.of(0, 10), false);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+
+        statistics.clear();
+        pedidoService.listarPedidosPorCursor(null, null, null, null, 10);
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve paginar o histórico do cliente do pedido mais recente para o mais antigo")
+    void should_PageClientHistoryNewestFirst_When_ListingByClient() {
+        for (int i = 0; i < 3; i++) {
+            pedidoService.criarPedido(criarPedidoDTO(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> esperados = pedidoService.buscarPedidosPorCliente(1L).stream()
+            .sorted(Comparator.comparing(PedidoResponseDTO::getDataPedido).thenComparing(PedidoResponseDTO::getId).reversed())
+            .map(PedidoResponseDTO::getId)
+            .toList();
+
+        Page<PedidoResponseDTO> primeira = pedidoService.listarHistoricoCliente(1L, PageRequest.of(0, 2));
+        Page<PedidoResponseDTO> segunda = pedidoService.listarHistoricoCliente(1L, PageRequest.of(1, 2));
+
+        assertEquals(esperados.size(), primeira.getTotalElements());
+        assertEquals(esperados.subList(0, 2), primeira.getContent().stream().map(PedidoResponseDTO::getId).toList());
+        assertEquals(esperados.subList(2, Math.min(4, esperados.size())),
+            segunda.getContent().stream().map(PedidoResponseDTO::getId).toList());
+        assertTrue(primeira.getContent().stream().allMatch(pedido -> pedido.getItens().size() == 1
+            && pedido.getClienteId().equals(1L)));
+    }
+
+    @Test
+    @DisplayName("Deve exportar os pedidos do período em NDJSON e CSV com uma única consulta, sem carregar entidades")
+    void should_StreamOrdersWithoutLoadingEntities_When_Exporting() throws Exception {
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            criados.add(pedidoService.criarPedido(criarPedidoDTO(2)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        LocalDate hoje = LocalDate.now();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long exportados = pedidoExportacaoService.exportar(StatusPedido.PENDENTE, hoje, hoje, FormatoExportacao.NDJSON, ndjson);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> linhas = new ArrayList<>();
+        for (String linha : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+            linhas.add(objectMapper.readTree(linha));
+        }
+        assertEquals(exportados, linhas.size());
+        assertTrue(linhas.stream().allMatch(linha -> linha.get("id").isTextual()));
+        assertTrue(linhas.stream().map(linha -> linha.get("id").asLong()).toList().containsAll(criados));
+        assertTrue(linhas.stream().allMatch(linha -> "PENDENTE".equals(linha.get("status").asText())));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        pedidoExportacaoService.exportar(StatusPedido.PENDENTE, hoje, hoje, FormatoExportacao.CSV, csv);
+        String[] linhasCsv = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(exportados + 1, linhasCsv.length);
+        assertTrue(linhasCsv[0].startsWith("id,clienteId,restauranteId"));
+        assertTrue(Arrays.stream(linhasCsv).anyMatch(linha -> linha.startsWith(criados.get(0) + ",")
+            && linha.endsWith(",PIX,01234-567,\"Rua das Flores, 123 - Centro\",")));
+
+        ByteArrayOutputStream cancelados = new ByteArrayOutputStream();
+        pedidoExportacaoService.exportar(StatusPedido.CANCELADO, hoje.minusDays(1), hoje.minusDays(1),
+            FormatoExportacao.NDJSON, cancelados);
+        assertEquals(0, cancelados.size());
+    }
+
+    @Test
+    @DisplayName("Deve exportar os pedidos do último segundo do período e nenhum do dia seguinte")
+    void should_IncludeLastSecondOfPeriod_When_Exporting() throws Exception {
+        LocalDate dia = LocalDate.of(2024, 6, 15);
+        Long ultimoSegundo = pedidoService.criarPedido(criarPedidoDTO(1)).getId();
+        Long diaSeguinte = pedidoService.criarPedido(criarPedidoDTO(1)).getId();
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE pedido SET data_pedido = ? WHERE id = ?", dia.atTime(23, 59, 59, 500_000_000), ultimoSegundo);
+        jdbcTemplate.update("UPDATE pedido SET data_pedido = ? WHERE id = ?", dia.plusDays(1).atStartOfDay(), diaSeguinte);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long exportados = pedidoExportacaoService.exportar(null, dia, dia, FormatoExportacao.CSV, csv);
+
+        assertEquals(1, exportados);
+        assertTrue(csv.toString(StandardCharsets.UTF_8).contains("\n" + ultimoSegundo + ","));
+    }
+
+    @Test
+    @DisplayName("Deve manter o estoque já gravado quando o produto é alterado sem informar estoque")
+    void should_KeepFlushedStock_When_ProductUpdatedWithoutStock() {
+        Produto produto = produtoRepository.findById(produtos.get(0).getId()).orElseThrow();
+        definirEstoqueNaTabela(produto.getId(), 10);
+        estoqueService.reconciliar();
+
+        pedidoService.criarPedido(criarPedidoDTO(1));
+        estoqueService.gravarPendentes();
+        assertEquals(9, estoqueNaTabela(produto.getId()));
+
+        // A entidade carregada antes da gravação ainda tem o saldo antigo
+        ProdutoDTO alteracao = new ProdutoDTO();
+        alteracao.setNome(produto.getNome());
+        alteracao.setDescricao(produto.getDescricao());
+        alteracao.setPreco(BigDecimal.valueOf(99));
+        alteracao.setCategoria(produto.getCategoria());
+        alteracao.setDisponivel(true);
+        produtoService.atualizarProduto(produto.getId(), alteracao);
+
+        assertEquals(9, estoqueNaTabela(produto.getId()));
+        assertEquals(9L, estoqueService.consultarSaldo(produto.getId()));
+    }
+
+    private void definirEstoqueNaTabela(Long produtoId, int estoque) {
+        jdbcTemplate.update("UPDATE produto SET estoque = ? WHERE id = ?", estoque, produtoId);
+    }
+
+    private Integer estoqueNaTabela(Long produtoId) {
+        return jdbcTemplate.queryForObject("SELECT estoque FROM produto WHERE id = ?", Integer.class, produtoId);
+    }
+
+    private long contarComandos(PedidoDTO pedidoDTO) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        pedidoService.criarPedido(pedidoDTO);
+        entityManager.flush();
+
+        long comandos = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return comandos;
+    }
+
+    private PedidoDTO criarPedidoDTO(int quantidadeItens) {
+        List<ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemPedidoDTO item = new ItemPedidoDTO();
+            item.setProdutoId(produtos.get(i).getId());
+            item.setQuantidade(1);
+            itens.add(item);
+        }
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(1L);
+        pedidoDTO.setRestauranteId(restaurante.getId());
+        pedidoDTO.setEnderecoEntrega("Rua das Flores, 123 - Centro");
+        pedidoDTO.setCep("01234-567");
+        pedidoDTO.setFormaPagamento("PIX");
+        pedidoDTO.setItens(itens);
+        return pedidoDTO;
+    }
+}
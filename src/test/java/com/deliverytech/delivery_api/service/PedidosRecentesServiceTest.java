@@ -0,0 +1,134 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.deliverytech.delivery_api.dto.PedidoResponseDTO;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+@DisplayName("Testes dos pedidos recentes por cliente")
+class PedidosRecentesServiceTest {
+
+    private static final Long CLIENTE = 10L;
+
+    private PedidosRecentesService pedidosRecentesService;
+    private AtomicInteger cargas;
+    private AtomicLong agora;
+
+    @BeforeEach
+    void setUp() {
+        agora = new AtomicLong();
+        Clock relogio = mock(Clock.class);
+        when(relogio.millis()).thenAnswer(invocation -> agora.get());
+        pedidosRecentesService = new PedidosRecentesService(3, 10, 60000, relogio);
+        cargas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o cliente uma vez e manter a lista com os pedidos criados depois")
+    void should_ServeFromMemoryAndPrependNewOrders_When_ClientIsCached() {
+        Page<PedidoResponseDTO> pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 2, () -> carregar(5, 4L, 3L, 2L));
+        assertEquals(List.of(4L, 3L), ids(pagina));
+        assertEquals(5, pagina.getTotalElements());
+
+        pedidosRecentesService.registrarAposCommit(pedido(6L, StatusPedido.PENDENTE));
+        pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(0));
+
+        assertEquals(List.of(6L, 4L, 3L), ids(pagina));
+        assertEquals(6, pagina.getTotalElements());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a mudança de status ao pedido guardado")
+    void should_UpdateCachedOrder_When_StatusChanges() {
+        pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(2, 4L, 3L));
+
+        pedidosRecentesService.atualizarStatusAposCommit(List.of(3L), StatusPedido.CANCELADO);
+        Page<PedidoResponseDTO> pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(0));
+
+        assertEquals(StatusPedido.PENDENTE, pagina.getContent().get(0).getStatus());
+        assertEquals(StatusPedido.CANCELADO, pagina.getContent().get(1).getStatus());
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar uma mudança de status anterior à já aplicada")
+    void should_KeepNewerStatus_When_StatusChangesArriveOutOfOrder() {
+        pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(1, 4L));
+
+        pedidosRecentesService.atualizarStatusAposCommit(List.of(4L), StatusPedido.PREPARANDO);
+        pedidosRecentesService.atualizarStatusAposCommit(List.of(4L), StatusPedido.CONFIRMADO);
+        Page<PedidoResponseDTO> pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(0));
+
+        assertEquals(StatusPedido.PREPARANDO, pagina.getContent().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a carga quando uma escrita do cliente acontece durante ela")
+    void should_DiscardLoad_When_WriteHappensWhileLoading() {
+        pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> {
+            pedidosRecentesService.atualizarStatusAposCommit(List.of(4L), StatusPedido.CONFIRMADO);
+            return carregar(1, 4L);
+        });
+
+        Page<PedidoResponseDTO> pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(1, 4L));
+
+        assertEquals(List.of(4L), ids(pagina));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve carregar a lista de novo quando ela expira")
+    void should_ReloadClient_When_ListExpires() {
+        pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(1, 4L));
+
+        agora.set(59999);
+        pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(2, 5L, 4L));
+        assertEquals(1, cargas.get());
+
+        // Pedido criado em outra instância, que esta não viu
+        agora.set(60000);
+        Page<PedidoResponseDTO> pagina = pedidosRecentesService.primeiraPagina(CLIENTE, 3, () -> carregar(2, 5L, 4L));
+
+        assertEquals(List.of(5L, 4L), ids(pagina));
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(2, cargas.get());
+    }
+
+    private Page<PedidoResponseDTO> carregar(long total, Long... ids) {
+        cargas.incrementAndGet();
+        List<PedidoResponseDTO> pedidos = new ArrayList<>();
+        for (Long id : ids) {
+            pedidos.add(pedido(id, StatusPedido.PENDENTE));
+        }
+        return new PageImpl<>(pedidos, PageRequest.of(0, 3), total);
+    }
+
+    private PedidoResponseDTO pedido(Long id, StatusPedido status) {
+        PedidoResponseDTO pedido = new PedidoResponseDTO(id, CLIENTE, 1L, "Rua das Flores, 123", LocalDateTime.now(),
+            status, BigDecimal.TEN, null, "01234-567", "PIX");
+        pedido.setItens(List.of());
+        return pedido;
+    }
+
+    private List<Long> ids(Page<PedidoResponseDTO> pagina) {
+        return pagina.getContent().stream().map(PedidoResponseDTO::getId).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.config.TestSecurityConfig;
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+import com.deliverytech.delivery_api.exception.BadRequestException;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@Transactional
+@DisplayName("Testes de Integração do serviço de Restaurante")
+class RestauranteServiceIT {
+
+    private static final String CATEGORIA = "Catálogo de teste";
+
+    @Autowired
+    private RestauranteServiceImpl restauranteService;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 40; i++) {
+            restauranteRepository.save(Restaurante.builder()
+                .nome("Restaurante " + i)
+                .categoria(CATEGORIA)
+                .taxaEntrega(BigDecimal.valueOf(i % 10))
+                .avaliacao(BigDecimal.valueOf(i % 6))
+                .ativo(i % 4 != 0)
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar, ordenar e paginar no banco carregando apenas os restaurantes da página")
+    void should_FilterSortAndPageInDatabase_When_ListingRestaurants() {
+        BigDecimal taxaMin = BigDecimal.valueOf(2);
+        BigDecimal taxaMax = BigDecimal.valueOf(7);
+        BigDecimal avaliacaoMin = BigDecimal.valueOf(3);
+        List<Long> esperados = restauranteRepository.findAll().stream()
+            .filter(r -> CATEGORIA.equals(r.getCategoria()) && r.isAtivo())
+            .filter(r -> r.getTaxaEntrega().compareTo(taxaMin) >= 0 && r.getTaxaEntrega().compareTo(taxaMax) <= 0)
+            .filter(r -> r.getAvaliacao().compareTo(avaliacaoMin) >= 0)
+            .sorted(Comparator.comparing(Restaurante::getAvaliacao).reversed().thenComparing(Restaurante::getId))
+            .map(Restaurante::getId)
+            .toList();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<RestauranteResponseDTO> pagina = restauranteService.listarRestaurantes(CATEGORIA, true, taxaMin, taxaMax,
+            avaliacaoMin, PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "avaliacao")));
+
+        assertEquals(esperados.size(), pagina.getTotalElements());
+        assertEquals(esperados.subList(3, 6), pagina.getContent().stream().map(RestauranteResponseDTO::getId).toList());
+        assertTrue(statistics.getEntityLoadCount() <= 3);
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar restaurantes disponíveis por projeção, sem carregar entidades")
+    void should_ProjectActiveRestaurantsWithoutLoadingEntities_When_ListingAvailable() {
+        long ativos = restauranteRepository.findByAtivoTrue().size();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<RestauranteResponseDTO> disponiveis = restauranteService.buscarRestaurantesDisponiveis();
+
+        assertEquals(ativos, disponiveis.size());
+        assertTrue(disponiveis.stream().allMatch(RestauranteResponseDTO::isAtivo));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar ordenação por campo desconhecido e faixa de taxa invertida")
+    void should_RejectInvalidSortAndRange_When_ListingRestaurants() {
+        assertThrows(BadRequestException.class, () -> restauranteService.listarRestaurantes(null, null, null, null, null,
+            PageRequest.of(0, 10, Sort.by("senha"))));
+        assertThrows(BadRequestException.class, () -> restauranteService.listarRestaurantes(null, null,
+            BigDecimal.TEN, BigDecimal.ONE, null, PageRequest.of(0, 10)));
+    }
+}
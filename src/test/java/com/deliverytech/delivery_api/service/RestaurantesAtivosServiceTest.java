@@ -0,0 +1,129 @@
+package com.deliverytech.delivery_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.dto.RestauranteResponseDTO;
+
+@DisplayName("Testes da cópia em memória dos restaurantes ativos")
+class RestaurantesAtivosServiceTest {
+
+    private RestaurantesAtivosService restaurantesAtivosService;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        restaurantesAtivosService = new RestaurantesAtivosService(60000);
+        cargas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e indexar os ativos por id e por categoria")
+    void should_LoadOnceAndIndexActiveRestaurants_When_SnapshotIsRequested() {
+        RestaurantesAtivosService.Snapshot snapshot = restaurantesAtivosService.obter(() -> carregar(
+            restaurante(3L, "Italiana", true), restaurante(1L, "Italiana", true), restaurante(2L, "Japonesa", false)));
+
+        assertEquals(List.of(1L, 3L), ids(snapshot.ativos()));
+        assertEquals(List.of(1L, 3L), ids(snapshot.daCategoria("Italiana")));
+        assertTrue(snapshot.daCategoria("Japonesa").isEmpty());
+        assertNull(snapshot.porId().get(2L));
+
+        assertSame(snapshot, restaurantesAtivosService.obter(this::carregar));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve gerar uma nova versão com o restaurante alterado sem recarregar")
+    void should_ReplaceRestaurantInNewVersion_When_ChangeIsCommitted() {
+        RestaurantesAtivosService.Snapshot anterior = restaurantesAtivosService.obter(() -> carregar(
+            restaurante(1L, "Italiana", true), restaurante(2L, "Japonesa", true)));
+
+        restaurantesAtivosService.atualizarAposCommit(restaurante(2L, "Italiana", true));
+        restaurantesAtivosService.atualizarAposCommit(restaurante(1L, "Italiana", false));
+        RestaurantesAtivosService.Snapshot atual = restaurantesAtivosService.obter(this::carregar);
+
+        assertEquals(anterior.versao() + 2, atual.versao());
+        assertEquals(List.of(2L), ids(atual.ativos()));
+        assertEquals(List.of(2L), ids(atual.daCategoria("Italiana")));
+        assertTrue(atual.daCategoria("Japonesa").isEmpty());
+        // A cópia anterior continua inteira para quem já a tinha
+        assertEquals(List.of(1L, 2L), ids(anterior.ativos()));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar uma alteração mais antiga que a já aplicada ao restaurante")
+    void should_IgnoreOlderVersion_When_CallbacksRunOutOfOrder() {
+        restaurantesAtivosService.obter(() -> carregar(comVersao(restaurante(1L, "Italiana", true), 1L)));
+
+        restaurantesAtivosService.atualizarAposCommit(comVersao(restaurante(1L, "Japonesa", false), 3L));
+        restaurantesAtivosService.atualizarAposCommit(comVersao(restaurante(1L, "Árabe", true), 2L));
+        restaurantesAtivosService.atualizarAposCommit(comVersao(restaurante(2L, "Italiana", true), 1L));
+        RestaurantesAtivosService.Snapshot snapshot = restaurantesAtivosService.obter(this::carregar);
+
+        assertEquals(List.of(2L), ids(snapshot.ativos()));
+        assertTrue(snapshot.daCategoria("Árabe").isEmpty());
+        assertEquals(3L, snapshot.versoes().get(1L));
+    }
+
+    @Test
+    @DisplayName("Deve descartar a carga quando uma alteração é confirmada durante ela")
+    void should_DiscardLoad_When_ChangeIsCommittedWhileLoading() {
+        restaurantesAtivosService.obter(() -> {
+            restaurantesAtivosService.atualizarAposCommit(restaurante(1L, "Italiana", false));
+            return carregar(restaurante(1L, "Italiana", true));
+        });
+
+        RestaurantesAtivosService.Snapshot snapshot = restaurantesAtivosService.obter(this::carregar);
+
+        assertTrue(snapshot.ativos().isEmpty());
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar quando a cópia expira")
+    void should_Reload_When_SnapshotExpires() {
+        restaurantesAtivosService = new RestaurantesAtivosService(0);
+        restaurantesAtivosService.obter(() -> carregar(restaurante(1L, "Italiana", true)));
+
+        RestaurantesAtivosService.Snapshot snapshot = restaurantesAtivosService.obter(() -> carregar(
+            restaurante(1L, "Italiana", true), restaurante(2L, "Árabe", true)));
+
+        assertEquals(List.of(1L, 2L), ids(snapshot.ativos()));
+        assertEquals(2, snapshot.versao());
+        assertEquals(2, cargas.get());
+    }
+
+    private List<RestauranteResponseDTO> carregar(RestauranteResponseDTO... restaurantes) {
+        cargas.incrementAndGet();
+        return new ArrayList<>(List.of(restaurantes));
+    }
+
+    private RestauranteResponseDTO restaurante(Long id, String categoria, boolean ativo) {
+        RestauranteResponseDTO restaurante = new RestauranteResponseDTO();
+        restaurante.setId(id);
+        restaurante.setNome("Restaurante " + id);
+        restaurante.setCategoria(categoria);
+        restaurante.setAtivo(ativo);
+        return restaurante;
+    }
+
+    private RestauranteResponseDTO comVersao(RestauranteResponseDTO restaurante, Long versao) {
+        restaurante.setVersao(versao);
+        return restaurante;
+    }
+
+    private List<Long> ids(List<RestauranteResponseDTO> restaurantes) {
+        return restaurantes.stream().map(RestauranteResponseDTO::getId).toList();
+    }
+}